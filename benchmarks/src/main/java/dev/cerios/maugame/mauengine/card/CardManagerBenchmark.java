@@ -0,0 +1,49 @@
+package dev.cerios.maugame.mauengine.card;
+
+import dev.cerios.maugame.mauengine.exception.CardException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deck operations. Drawn cards are returned or played back, so the deck stays in a steady state across invocations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CardManagerBenchmark {
+    private CardManager standard;
+    private CardManager singleColor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var random = new Random(1);
+        standard = CardManager.create(random, new CardComparer());
+        // every card matches the pile, any drawn card can be played
+        var hearts = CardSet.toList(CardSet.colorMask(Color.HEARTS));
+        singleColor = new CardManager(hearts, random, new CardComparer());
+        singleColor.startPile();
+    }
+
+    @Benchmark
+    public List<Card> drawAndReturn() throws CardException {
+        var drawn = standard.draw(4);
+        standard.addToDeck(drawn);
+        return drawn;
+    }
+
+    @Benchmark
+    public boolean drawAndPlayCard() throws CardException {
+        return singleColor.playCard(singleColor.draw(), Color.HEARTS);
+    }
+
+    @Benchmark
+    public CardManager shuffleRemaining() {
+        return standard.shuffleRemaining();
+    }
+}
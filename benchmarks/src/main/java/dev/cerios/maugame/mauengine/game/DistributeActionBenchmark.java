@@ -0,0 +1,65 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardComparer;
+import dev.cerios.maugame.mauengine.card.CardManager;
+import dev.cerios.maugame.mauengine.exception.GameException;
+import dev.cerios.maugame.mauengine.game.action.PlayCardAction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static dev.cerios.maugame.mauengine.card.CardType.KING;
+import static dev.cerios.maugame.mauengine.card.Color.HEARTS;
+
+/**
+ * {@link PlayerManager#distributeActionToAll} to N players with object and encoded listeners.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DistributeActionBenchmark {
+    public enum ListenerKind {
+        PLAIN,
+        WIRE
+    }
+
+    @Param({"2", "8", "32"})
+    int listeners;
+    @Param
+    ListenerKind kind;
+
+    private PlayerManager playerManager;
+    private Player sender;
+    private final Card card = new Card(KING, HEARTS);
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) throws GameException {
+        var random = new Random(1);
+        var stage = new AtomicReference<>(Stage.LOBBY);
+        playerManager = new PlayerManager(
+                UUID.randomUUID(), random, 2, listeners, stage, CardManager.create(random, new CardComparer())
+        );
+        for (int i = 0; i < listeners; i++) {
+            var username = "player-" + i;
+            var player = switch (kind) {
+                case PLAIN -> playerManager.registerPlayer(username, (p, a) -> blackhole.consume(a));
+                case WIRE -> playerManager.registerWirePlayer(username, (p, bytes) -> blackhole.consume(bytes));
+            };
+            if (sender == null)
+                sender = player;
+        }
+    }
+
+    @Benchmark
+    public void distributeActionToAll() {
+        playerManager.distributeActionToAll(new PlayCardAction(sender, card));
+    }
+}
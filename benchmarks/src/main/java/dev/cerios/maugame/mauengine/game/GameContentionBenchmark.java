@@ -0,0 +1,110 @@
+package dev.cerios.maugame.mauengine.game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Multithreaded variants. Groups run one thread moving in a game while others read it, {@link #independentGames}
+ * plays separate games on every thread to expose contention on shared engine state such as the turn timer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameContentionBenchmark {
+
+    @State(Scope.Group)
+    public static class SharedGame {
+        @Param({"2", "4", "8"})
+        int players;
+        long seed;
+        volatile Game game;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            game = Games.started(seed++, players);
+        }
+
+        void playTurn() {
+            if (!Games.playTurn(game))
+                game = Games.started(seed++, players);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OwnGame {
+        @Param({"2", "4", "8"})
+        int players;
+        long seed;
+        Game game;
+
+        @Setup(Level.Trial)
+        public void setUp(ThreadSeed threadSeed) {
+            seed = threadSeed.next();
+            game = Games.started(seed, players);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ThreadSeed {
+        private long next = 0;
+
+        synchronized long next() {
+            return next += 1_000_000;
+        }
+    }
+
+    @Benchmark
+    @Group("readState")
+    @GroupThreads(1)
+    public void readStateWriter(SharedGame state) {
+        state.playTurn();
+    }
+
+    @Benchmark
+    @Group("readState")
+    @GroupThreads(3)
+    public GameState readStateReader(SharedGame state) {
+        return state.game.getGameState();
+    }
+
+    @Benchmark
+    @Group("readLobbyInfo")
+    @GroupThreads(1)
+    public void readLobbyInfoWriter(SharedGame state) {
+        state.playTurn();
+    }
+
+    @Benchmark
+    @Group("readLobbyInfo")
+    @GroupThreads(3)
+    public int readLobbyInfoReader(SharedGame state) {
+        var game = state.game;
+        return game.getStage().ordinal() + game.getFreeCapacity() + game.getAllPlayers().size();
+    }
+
+    @Benchmark
+    @Group("sendState")
+    @GroupThreads(1)
+    public void sendStateWriter(SharedGame state) {
+        state.playTurn();
+    }
+
+    @Benchmark
+    @Group("sendState")
+    @GroupThreads(3)
+    public void sendStateReader(SharedGame state) throws Exception {
+        var game = state.game;
+        game.sendCurrentStateTo(game.getAllPlayers().getFirst().getPlayerId(), p -> true);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Game independentGames(OwnGame state) {
+        if (!Games.playTurn(state.game))
+            state.game = Games.started(state.seed++, state.players);
+        return state.game;
+    }
+}
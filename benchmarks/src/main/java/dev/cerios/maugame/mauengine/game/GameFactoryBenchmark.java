@@ -0,0 +1,32 @@
+package dev.cerios.maugame.mauengine.game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameFactoryBenchmark {
+    @Param({"2", "4", "8"})
+    int players;
+
+    private final GameFactory factory = new GameFactory(new Random(1));
+
+    @Benchmark
+    public Game createGame() {
+        return factory.createGame(players, players);
+    }
+
+    @Benchmark
+    public Game createAndFillGame() throws Exception {
+        var game = factory.createGame(players, players);
+        for (int i = 0; i < players; i++)
+            game.registerPlayer("player-" + i, Games.VOID_LISTENER);
+        return game;
+    }
+}
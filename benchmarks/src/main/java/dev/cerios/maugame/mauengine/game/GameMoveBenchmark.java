@@ -0,0 +1,152 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.Color;
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single move commands on a running game. Every iteration prepares a batch of {@link #BATCH} games so that the
+ * measured move is legal, each invocation moves in the next of them. The preparation is excluded from the measurement
+ * and, unlike per-invocation setup, does not add timestamping overhead to every move. The score is the time of the
+ * whole batch.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, batchSize = GameMoveBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = GameMoveBenchmark.BATCH)
+@Fork(1)
+public class GameMoveBenchmark {
+    static final int BATCH = 1_000;
+    private static final int SPECIAL_CARDS = CardSet.typeMask(CardType.SEVEN) | CardSet.typeMask(CardType.ACE);
+
+    @State(Scope.Thread)
+    public static class DrawState {
+        @Param({"2", "4", "8"})
+        int players;
+        long seed;
+        final Game[] games = new Game[BATCH];
+        final String[] playerIds = new String[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            for (int i = 0; i < BATCH; i++) {
+                games[i] = Games.started(seed++, players);
+                playerIds[i] = Games.current(games[i]).getPlayerId();
+            }
+            next = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PlayCardState {
+        @Param({"2", "4", "8"})
+        int players;
+        long seed;
+        final Game[] games = new Game[BATCH];
+        final String[] playerIds = new String[BATCH];
+        final Card[] cards = new Card[BATCH];
+        final Color[] nextColors = new Color[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws MauEngineBaseException {
+            for (int i = 0; i < BATCH; i++) {
+                while (true) {
+                    var game = Games.started(seed++, players);
+                    var playerId = Games.current(game).getPlayerId();
+                    var moves = game.legalMoves(playerId);
+                    if (moves.playableMask() != 0) {
+                        games[i] = game;
+                        playerIds[i] = playerId;
+                        cards[i] = moves.playableCards().getFirst();
+                        nextColors[i] = cards[i].type() == CardType.QUEEN ? Color.HEARTS : null;
+                        break;
+                    }
+                }
+            }
+            next = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PassState {
+        @Param({"2", "4", "8"})
+        int players;
+        long seed;
+        final Game[] games = new Game[BATCH];
+        final String[] playerIds = new String[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() throws MauEngineBaseException {
+            for (int i = 0; i < BATCH; i++) {
+                while (true) {
+                    var game = Games.started(seed++, players);
+                    var first = Games.current(game).getPlayerId();
+                    int special = game.legalMoves(first).playableMask() & SPECIAL_CARDS;
+                    if (special != 0) {
+                        game.playCardMove(first, CardSet.toList(special).getFirst());
+                        games[i] = game;
+                        playerIds[i] = Games.current(game).getPlayerId();
+                        break;
+                    }
+                }
+            }
+            next = 0;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class RunningState {
+        @Param({"2", "4", "8"})
+        int players;
+        long seed;
+        Game game;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            game = Games.started(seed++, players);
+        }
+    }
+
+    @Benchmark
+    public Game playDrawMove(DrawState state) throws MauEngineBaseException {
+        int i = state.next++;
+        state.games[i].playDrawMove(state.playerIds[i]);
+        return state.games[i];
+    }
+
+    @Benchmark
+    public Game playCardMove(PlayCardState state) throws MauEngineBaseException {
+        int i = state.next++;
+        state.games[i].playCardMove(state.playerIds[i], state.cards[i], state.nextColors[i]);
+        return state.games[i];
+    }
+
+    @Benchmark
+    public Game playPassMove(PassState state) throws MauEngineBaseException {
+        int i = state.next++;
+        state.games[i].playPassMove(state.playerIds[i]);
+        return state.games[i];
+    }
+
+    /**
+     * Steady stream of legal moves, finished games are replaced inline.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    @Warmup(iterations = 3, time = 1)
+    @Measurement(iterations = 5, time = 1)
+    public Game playTurn(RunningState state) {
+        if (!Games.playTurn(state.game))
+            state.game = Games.started(state.seed++, state.players);
+        return state.game;
+    }
+}
@@ -0,0 +1,54 @@
+package dev.cerios.maugame.mauengine.game;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read side of a running game, single-threaded.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GameStateBenchmark {
+    @Param({"2", "4", "8"})
+    int players;
+
+    private Game game;
+    private String playerId;
+    private long previousVersion;
+    private long lastSequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        game = Games.started(7, players);
+        Games.playTurn(game);
+        previousVersion = game.getGameState().version() - 1;
+        Games.playTurn(game);
+        playerId = game.getAllPlayers().getFirst().getPlayerId();
+        lastSequence = game.getPlayerManager().getActionLog().lastSequence() - players;
+    }
+
+    @Benchmark
+    public GameState getGameState() {
+        return game.getGameState();
+    }
+
+    @Benchmark
+    public GameStateDelta getGameStateSince() {
+        return game.getGameStateSince(previousVersion);
+    }
+
+    @Benchmark
+    public void sendCurrentStateTo() throws Exception {
+        game.sendCurrentStateTo(playerId, p -> true);
+    }
+
+    @Benchmark
+    public boolean catchUp() throws Exception {
+        return game.catchUp(playerId, lastSequence, p -> true);
+    }
+}
@@ -0,0 +1,109 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.Color;
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import dev.cerios.maugame.mauengine.timer.Timeout;
+import dev.cerios.maugame.mauengine.timer.TurnTimer;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixtures shared by benchmarks. Lives in the engine package to reach package-private internals.
+ */
+final class Games {
+    static final GameEventListener VOID_LISTENER = (p, a) -> {};
+    /**
+     * never fires, fixture games are dropped with their turns running and must not leave timeouts behind
+     */
+    static final TurnTimer IDLE_TIMER = new TurnTimer() {
+        @Override
+        public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+            return new IdleTimeout();
+        }
+
+        @Override
+        public long pendingTimeouts() {
+            return 0;
+        }
+    };
+
+    private Games() {
+    }
+
+    static Game lobby(long seed, int players) {
+        var game = new GameFactory(new Random(seed), GameOptions.defaults(), IDLE_TIMER).createGame(players, players);
+        try {
+            for (int i = 0; i < players; i++)
+                game.registerPlayer("player-" + i, VOID_LISTENER);
+        } catch (MauEngineBaseException e) {
+            throw new IllegalStateException(e);
+        }
+        return game;
+    }
+
+    static Game started(long seed, int players) {
+        var game = lobby(seed, players);
+        try {
+            game.start();
+        } catch (MauEngineBaseException e) {
+            throw new IllegalStateException(e);
+        }
+        return game;
+    }
+
+    static Player current(Game game) {
+        return game.getPlayerManager().currentPlayer();
+    }
+
+    /**
+     * Plays a card if possible, otherwise passes or draws.
+     *
+     * @return {@code false} when the game cannot continue and should be replaced
+     */
+    static boolean playTurn(Game game) {
+        if (game.getStage() != Stage.RUNNING)
+            return false;
+        var playerId = current(game).getPlayerId();
+        try {
+            var moves = game.legalMoves(playerId);
+            int playable = moves.playableMask();
+            if (playable != 0) {
+                var card = moves.playableCards().getFirst();
+                game.playCardMove(playerId, card, card.type() == CardType.QUEEN ? Color.HEARTS : null);
+            } else if (moves.canPass()) {
+                game.playPassMove(playerId);
+            } else if (moves.canDraw()) {
+                game.playDrawMove(playerId);
+            } else {
+                return false;
+            }
+        } catch (MauEngineBaseException e) {
+            return false;
+        }
+        return game.getStage() == Stage.RUNNING;
+    }
+
+    private static final class IdleTimeout implements Timeout {
+        private boolean cancelled;
+
+        @Override
+        public boolean cancel() {
+            if (cancelled)
+                return false;
+            cancelled = true;
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.Color;
+
+import java.util.Random;
+
+/**
+ * Plays whenever possible. Prefers cards of the color it holds most of and keeps QUEENs, which match anything, for
+ * the moment no other card fits. QUEEN requests the color most frequent in the remaining hand.
+ */
+public final class GreedyStrategy implements Strategy {
+    private static final Color[] COLORS = Color.values();
+    private static final int QUEENS = CardSet.typeMask(CardType.QUEEN);
+
+    @Override
+    public Move chooseMove(InformationSet informationSet, Random random) {
+        var legalMoves = informationSet.legalMoves();
+        int hand = informationSet.hand();
+        int playable = legalMoves.playableMask();
+        if (playable == CardSet.EMPTY)
+            return legalMoves.canPass() ? Move.PASS : Move.DRAW;
+
+        int candidates = (playable & ~QUEENS) != CardSet.EMPTY ? playable & ~QUEENS : playable;
+        Card best = null;
+        int bestScore = -1;
+        for (int rest = candidates; rest != 0; rest &= rest - 1) {
+            var card = Card.ofOrdinal(Integer.numberOfTrailingZeros(rest));
+            int score = Integer.bitCount(hand & CardSet.colorMask(card.color()));
+            if (score > bestScore) {
+                best = card;
+                bestScore = score;
+            }
+        }
+        return new Move.PlayCard(best, best.type() == CardType.QUEEN ? dominantColor(hand & ~CardSet.bit(best)) : null);
+    }
+
+    static Color dominantColor(int hand) {
+        var dominant = COLORS[0];
+        int dominantCount = -1;
+        for (Color color : COLORS) {
+            int count = Integer.bitCount(hand & CardSet.colorMask(color));
+            if (count > dominantCount) {
+                dominant = color;
+                dominantCount = count;
+            }
+        }
+        return dominant;
+    }
+
+    @Override
+    public String toString() {
+        return "greedy";
+    }
+}
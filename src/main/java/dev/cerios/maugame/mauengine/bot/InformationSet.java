@@ -0,0 +1,29 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.Color;
+import dev.cerios.maugame.mauengine.game.LegalMoves;
+import dev.cerios.maugame.mauengine.game.effect.GameEffect;
+
+/**
+ * Everything the player on turn knows about the game.
+ *
+ * @param hand              {@link dev.cerios.maugame.mauengine.card.CardSet} mask of the player's cards
+ * @param requestedColor    color requested by previously played QUEEN, or {@code null}
+ * @param gameEffect        active effect the player has to answer, or {@code null}
+ * @param opponentHandSizes hand sizes of the other seats in playing order, starting with the next seat, finished
+ *                          players hold no cards
+ * @param seenCards         mask of cards played earlier which lie in the deck, see
+ *                          {@link dev.cerios.maugame.mauengine.card.CardManager#returnedCards()}
+ */
+public record InformationSet(
+        int hand,
+        Card pileCard,
+        Color requestedColor,
+        GameEffect gameEffect,
+        LegalMoves legalMoves,
+        int[] opponentHandSizes,
+        int deckSize,
+        int seenCards
+) {
+}
@@ -0,0 +1,226 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.CardSet;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Information Set Monte Carlo Tree Search (single observer variant). Every iteration determinizes the hidden cards,
+ * dealing cards never seen to opponents' hands and the deck consistently with their sizes, then descends one shared
+ * tree restricted to moves legal in that determinization and finishes the game by a random playout. The most visited
+ * root move is played. The search stops after the iteration limit or the time budget, whichever comes first.
+ * Instances hold configuration only and may be shared by concurrently searching threads.
+ */
+public final class IsmctsStrategy implements Strategy {
+    private static final double EXPLORATION = 0.7;
+    private static final int MAX_PLAYOUT_STEPS = 200;
+    private static final int CLOCK_CHECK_INTERVAL = 64;
+
+    private final int iterations;
+    private final long budgetNanos;
+    private final Strategy fallback = new GreedyStrategy();
+
+    public IsmctsStrategy() {
+        this(5_000, Duration.ofMillis(100));
+    }
+
+    public IsmctsStrategy(int iterations, Duration budget) {
+        if (iterations < 1)
+            throw new IllegalArgumentException("Iterations must be positive.");
+        this.iterations = iterations;
+        this.budgetNanos = budget.toNanos();
+    }
+
+    @Override
+    public Move chooseMove(InformationSet informationSet, Random random) {
+        var legalMoves = informationSet.legalMoves();
+        if (legalMoves.playableMask() == CardSet.EMPTY)
+            return legalMoves.canPass() ? Move.PASS : Move.DRAW;
+        var root = new Search(informationSet);
+        if (root.unknownCount < root.hiddenInHands + root.hiddenInDeck)
+            // cards in play do not match the standard deck, nothing to determinize from
+            return fallback.chooseMove(informationSet, random);
+
+        long deadline = System.nanoTime() + budgetNanos;
+        for (int i = 0; i < iterations; i++) {
+            if (i % CLOCK_CHECK_INTERVAL == CLOCK_CHECK_INTERVAL - 1 && System.nanoTime() - deadline > 0)
+                break;
+            root.iterate(random);
+        }
+        return PlayoutState.toMove(root.tree.mostVisited().move);
+    }
+
+    @Override
+    public String toString() {
+        return "ismcts(" + iterations + ", " + Duration.ofNanos(budgetNanos) + ")";
+    }
+
+    /**
+     * State of a single decision, seat 0 is the searching player.
+     */
+    private static final class Search {
+        private final PlayoutState template;
+        private final PlayoutState state;
+        private final int[] opponentHandSizes;
+        private final int[] unknown;
+        private final int unknownCount;
+        private final int hiddenInHands;
+        private final int hiddenInDeck;
+        private final int[] seen;
+        private final int[] moves = new int[PlayoutState.MAX_MOVES];
+        private final Node tree = new Node(0, -1, null);
+
+        Search(InformationSet informationSet) {
+            opponentHandSizes = informationSet.opponentHandSizes();
+            int seats = opponentHandSizes.length + 1;
+            template = new PlayoutState(seats);
+            state = new PlayoutState(seats);
+
+            int known = informationSet.hand() | CardSet.bit(informationSet.pileCard());
+            int seenCards = informationSet.seenCards() & ~known;
+            unknown = ordinals(CardSet.ALL & ~known & ~seenCards);
+            seen = ordinals(seenCards);
+            unknownCount = unknown.length;
+            int inHands = 0;
+            for (int size : opponentHandSizes)
+                inHands += size;
+            hiddenInHands = inHands;
+            hiddenInDeck = informationSet.deckSize() - seen.length;
+
+            // opponents' hands are dealt per iteration, non-empty placeholder keeps them in the game
+            template.hands[0] = informationSet.hand();
+            for (int i = 0; i < opponentHandSizes.length; i++)
+                template.hands[i + 1] = opponentHandSizes[i] == 0 ? CardSet.EMPTY : -1;
+            template.reset(informationSet.pileCard(), informationSet.requestedColor(), informationSet.gameEffect());
+        }
+
+        void iterate(Random random) {
+            determinize(random);
+            var node = tree;
+            while (!state.isOver()) {
+                int count = state.legalMoves(moves);
+                if (count == 0)
+                    break;
+                int seat = state.current();
+                int untriedMove = -1;
+                int untriedCount = 0;
+                for (int i = 0; i < count; i++) {
+                    var child = node.child(moves[i]);
+                    if (child == null) {
+                        // reservoir sampling of one untried move
+                        if (random.nextInt(++untriedCount) == 0)
+                            untriedMove = moves[i];
+                    } else {
+                        child.availability++;
+                    }
+                }
+                if (untriedMove >= 0) {
+                    var untried = new Node(untriedMove, seat, node);
+                    node.children.add(untried);
+                    untried.availability++;
+                    state.apply(untried.move);
+                    node = untried;
+                    break;
+                }
+                node = node.select(moves, count);
+                state.apply(node.move);
+            }
+            state.playout(random, MAX_PLAYOUT_STEPS);
+            for (var n = node; n != null; n = n.parent) {
+                n.visits++;
+                if (n.seat >= 0)
+                    n.reward += state.reward(n.seat);
+            }
+        }
+
+        /**
+         * Shuffles cards never seen and deals them to opponents and the top of the deck, played cards known to lie
+         * in the deck go under them.
+         */
+        private void determinize(Random random) {
+            state.copyFrom(template);
+            for (int i = unknown.length - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = unknown[i];
+                unknown[i] = unknown[j];
+                unknown[j] = tmp;
+            }
+            int next = 0;
+            for (int i = 0; i < opponentHandSizes.length; i++) {
+                int hand = CardSet.EMPTY;
+                for (int c = 0; c < opponentHandSizes[i]; c++)
+                    hand |= 1 << unknown[next++];
+                state.hands[i + 1] = hand;
+            }
+            for (int i = 0; i < hiddenInDeck; i++)
+                state.addToDeck(unknown[next++]);
+            for (int ordinal : seen)
+                state.addToDeck(ordinal);
+        }
+
+        private static int[] ordinals(int mask) {
+            int[] out = new int[Integer.bitCount(mask)];
+            int i = 0;
+            for (int rest = mask; rest != 0; rest &= rest - 1)
+                out[i++] = Integer.numberOfTrailingZeros(rest);
+            return out;
+        }
+    }
+
+    private static final class Node {
+        private final int move;
+        /**
+         * seat which made the move leading to this node
+         */
+        private final int seat;
+        private final Node parent;
+        private final List<Node> children = new ArrayList<>();
+        private int visits;
+        private int availability;
+        private double reward;
+
+        Node(int move, int seat, Node parent) {
+            this.move = move;
+            this.seat = seat;
+            this.parent = parent;
+        }
+
+        Node child(int move) {
+            for (int i = 0; i < children.size(); i++) {
+                if (children.get(i).move == move)
+                    return children.get(i);
+            }
+            return null;
+        }
+
+        /**
+         * UCB1 over children legal in the current determinization, with availability in place of parent visits.
+         */
+        Node select(int[] moves, int count) {
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int i = 0; i < count; i++) {
+                var child = child(moves[i]);
+                double value = child.reward / child.visits
+                        + EXPLORATION * Math.sqrt(Math.log(child.availability) / child.visits);
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        Node mostVisited() {
+            Node best = children.getFirst();
+            for (var child : children) {
+                if (child.visits > best.visits)
+                    best = child;
+            }
+            return best;
+        }
+    }
+}
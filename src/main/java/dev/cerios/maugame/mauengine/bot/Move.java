@@ -0,0 +1,27 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.Color;
+
+/**
+ * Move of the player on turn, as chosen by a {@link Strategy}.
+ */
+public sealed interface Move permits Move.PlayCard, Move.Draw, Move.Pass {
+    Move DRAW = new Draw();
+    Move PASS = new Pass();
+
+    /**
+     * @param nextColor color requested by a played QUEEN, ignored for other cards
+     */
+    record PlayCard(Card card, Color nextColor) implements Move {
+        public PlayCard(Card card) {
+            this(card, null);
+        }
+    }
+
+    record Draw() implements Move {
+    }
+
+    record Pass() implements Move {
+    }
+}
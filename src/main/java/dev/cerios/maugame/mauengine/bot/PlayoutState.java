@@ -0,0 +1,258 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.Color;
+import dev.cerios.maugame.mauengine.card.PlayableTable;
+import dev.cerios.maugame.mauengine.game.effect.DrawEffect;
+import dev.cerios.maugame.mauengine.game.effect.GameEffect;
+import dev.cerios.maugame.mauengine.game.effect.SkipEffect;
+
+import java.util.Random;
+
+/**
+ * Fully determined game position following the rules of {@code GameCore}, with cards as ordinals and hands as
+ * {@link CardSet} masks. Copies and moves never allocate, so one instance is reused by all playouts of a search.
+ * Seats are numbered in playing order. Moves are encoded as ints, see {@link #play}, {@link #DRAW} and {@link #PASS}.
+ */
+final class PlayoutState {
+    static final int DRAW = 1 << 8;
+    static final int PASS = 1 << 9;
+    /**
+     * upper bound of moves generated by {@link #legalMoves}
+     */
+    static final int MAX_MOVES = Card.DECK_SIZE * Card.COLOR_COUNT + 2;
+
+    private static final Color[] COLORS = Color.values();
+    private static final int NO_COLOR = -1;
+    private static final int SKIP = -1;
+    private static final int QUEENS = CardSet.typeMask(CardType.QUEEN);
+    private static final int SEVENS = CardSet.typeMask(CardType.SEVEN);
+    private static final int ACES = CardSet.typeMask(CardType.ACE);
+    private static final int NOT_PLACED = -1;
+
+    final int seats;
+    final int[] hands;
+    private final int[] deck = new int[Card.DECK_SIZE];
+    private int deckHead;
+    private int deckSize;
+    private int pile;
+    private int requestedColor = NO_COLOR;
+    /**
+     * {@code 0} without effect, {@link #SKIP}, or the number of cards to draw
+     */
+    private int effect;
+    private int current;
+    private final int[] places;
+    private int placed;
+    private boolean over;
+
+    PlayoutState(int seats) {
+        this.seats = seats;
+        this.hands = new int[seats];
+        this.places = new int[seats];
+    }
+
+    static int play(Card card, Color nextColor) {
+        return card.ordinal() | (nextColor == null ? 0 : (nextColor.ordinal() + 1) << 5);
+    }
+
+    static Move toMove(int move) {
+        if (move == DRAW)
+            return Move.DRAW;
+        if (move == PASS)
+            return Move.PASS;
+        int color = (move >>> 5) - 1;
+        return new Move.PlayCard(Card.ofOrdinal(move & 31), color < 0 ? null : COLORS[color]);
+    }
+
+    void copyFrom(PlayoutState other) {
+        System.arraycopy(other.hands, 0, hands, 0, seats);
+        System.arraycopy(other.deck, 0, deck, 0, deck.length);
+        System.arraycopy(other.places, 0, places, 0, seats);
+        deckHead = other.deckHead;
+        deckSize = other.deckSize;
+        pile = other.pile;
+        requestedColor = other.requestedColor;
+        effect = other.effect;
+        current = other.current;
+        placed = other.placed;
+        over = other.over;
+    }
+
+    /**
+     * Resets the position to seat 0 on turn with an empty deck, seats without cards are considered finished.
+     */
+    void reset(Card pileCard, Color requestedColor, GameEffect gameEffect) {
+        this.pile = pileCard.ordinal();
+        this.requestedColor = requestedColor == null ? NO_COLOR : requestedColor.ordinal();
+        this.effect = switch (gameEffect) {
+            case null -> 0;
+            case DrawEffect(int count) -> count;
+            case SkipEffect ignored -> SKIP;
+        };
+        deckHead = 0;
+        deckSize = 0;
+        current = 0;
+        placed = 0;
+        over = false;
+        for (int seat = 0; seat < seats; seat++)
+            places[seat] = hands[seat] == CardSet.EMPTY ? placed++ : NOT_PLACED;
+    }
+
+    void addToDeck(int ordinal) {
+        deck[index(deckSize++)] = ordinal;
+    }
+
+    boolean isOver() {
+        return over;
+    }
+
+    int current() {
+        return current;
+    }
+
+    int playableMask() {
+        int effectMask = effect == 0 ? CardSet.ALL : effect == SKIP ? ACES : SEVENS;
+        var color = requestedColor == NO_COLOR ? null : COLORS[requestedColor];
+        return hands[current] & effectMask & PlayableTable.playable(Card.ofOrdinal(pile), color);
+    }
+
+    /**
+     * @return number of moves written to {@code out}, {@code 0} when the seat on turn is stuck
+     */
+    int legalMoves(int[] out) {
+        int count = 0;
+        for (int rest = playableMask(); rest != 0; rest &= rest - 1) {
+            int ordinal = Integer.numberOfTrailingZeros(rest);
+            if ((QUEENS & (1 << ordinal)) == 0) {
+                out[count++] = ordinal;
+                continue;
+            }
+            for (int color = 0; color < COLORS.length; color++)
+                out[count++] = ordinal | (color + 1) << 5;
+        }
+        if (effect == SKIP || effect > 0 && deckSize >= effect)
+            out[count++] = PASS;
+        else if (deckSize > 0)
+            out[count++] = DRAW;
+        return count;
+    }
+
+    void apply(int move) {
+        if (move == DRAW) {
+            hands[current] |= 1 << drawFirst();
+            shift();
+            return;
+        }
+        if (move == PASS) {
+            if (effect > 0) {
+                if (deckSize < effect) {
+                    // the penalty cannot be drawn, the game gets stuck
+                    over = true;
+                    return;
+                }
+                for (int i = 0; i < effect; i++)
+                    hands[current] |= 1 << drawFirst();
+            }
+            effect = 0;
+            shift();
+            return;
+        }
+
+        int ordinal = move & 31;
+        int bit = 1 << ordinal;
+        if (effect > 0)
+            effect += 2;
+        else if (effect == 0 && (ACES & bit) != 0)
+            effect = SKIP;
+        else if (effect == 0 && (SEVENS & bit) != 0)
+            effect = 2;
+        requestedColor = (move >>> 5) - 1;
+        addToDeck(pile);
+        pile = ordinal;
+        hands[current] &= ~bit;
+        if (hands[current] == CardSet.EMPTY && !finish(current))
+            return;
+        shift();
+    }
+
+    /**
+     * Plays random moves until the game ends, a seat gets stuck or the step limit is reached. Playable cards are
+     * always preferred to drawing or passing.
+     */
+    void playout(Random random, int maxSteps) {
+        for (int step = 0; step < maxSteps && !over; step++) {
+            int playable = playableMask();
+            if (playable != CardSet.EMPTY) {
+                int pick = random.nextInt(Integer.bitCount(playable));
+                for (int i = 0; i < pick; i++)
+                    playable &= playable - 1;
+                int ordinal = Integer.numberOfTrailingZeros(playable);
+                int color = (QUEENS & (1 << ordinal)) != 0 ? random.nextInt(COLORS.length) + 1 : 0;
+                apply(ordinal | color << 5);
+            } else if (effect != 0) {
+                apply(PASS);
+            } else if (deckSize > 0) {
+                apply(DRAW);
+            } else {
+                over = true;
+            }
+        }
+    }
+
+    /**
+     * Score of the seat in {@code [0, 1]}, {@code 1} for the winner. Seats still playing are ranked by the number of
+     * cards they hold, behind all finished seats.
+     */
+    double reward(int seat) {
+        if (places[seat] != NOT_PLACED)
+            return (double) (seats - 1 - places[seat]) / (seats - 1);
+        int cards = Integer.bitCount(hands[seat]);
+        double behind = 0;
+        for (int other = 0; other < seats; other++) {
+            if (other == seat || places[other] != NOT_PLACED)
+                continue;
+            int otherCards = Integer.bitCount(hands[other]);
+            if (otherCards > cards)
+                behind++;
+            else if (otherCards == cards)
+                behind += 0.5;
+        }
+        return behind / (seats - 1);
+    }
+
+    /**
+     * @return whether the game continues
+     */
+    private boolean finish(int seat) {
+        places[seat] = placed++;
+        if (placed < seats - 1)
+            return true;
+        for (int other = 0; other < seats; other++) {
+            if (places[other] == NOT_PLACED)
+                places[other] = placed++;
+        }
+        over = true;
+        return false;
+    }
+
+    private void shift() {
+        do {
+            current = current + 1 == seats ? 0 : current + 1;
+        } while (places[current] != NOT_PLACED);
+    }
+
+    private int drawFirst() {
+        int ordinal = deck[deckHead];
+        deckHead = index(1);
+        deckSize--;
+        return ordinal;
+    }
+
+    private int index(int offset) {
+        int i = deckHead + offset;
+        return i >= deck.length ? i - deck.length : i;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.Color;
+
+import java.util.Random;
+
+/**
+ * Picks uniformly among all legal moves, QUEEN requests a random color.
+ */
+public final class RandomStrategy implements Strategy {
+    private static final Color[] COLORS = Color.values();
+
+    @Override
+    public Move chooseMove(InformationSet informationSet, Random random) {
+        var legalMoves = informationSet.legalMoves();
+        int playable = legalMoves.playableMask();
+        int cards = Integer.bitCount(playable);
+        int other = legalMoves.canDraw() || legalMoves.canPass() ? 1 : 0;
+
+        int pick = random.nextInt(cards + other);
+        if (pick == cards)
+            return legalMoves.canPass() ? Move.PASS : Move.DRAW;
+        for (int i = 0; i < pick; i++)
+            playable &= playable - 1;
+        var card = Card.ofOrdinal(Integer.numberOfTrailingZeros(playable));
+        if (card.type() != CardType.QUEEN)
+            return new Move.PlayCard(card);
+        return new Move.PlayCard(card, COLORS[random.nextInt(COLORS.length)]);
+    }
+
+    @Override
+    public String toString() {
+        return "random";
+    }
+}
@@ -0,0 +1,17 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import java.util.Random;
+
+/**
+ * Decides moves of a computer controlled player.
+ */
+@FunctionalInterface
+public interface Strategy {
+    /**
+     * Called only when {@link InformationSet#legalMoves()} allows at least one move, the returned move must be one of
+     * them. Single instance may be used by concurrently running games, so implementations should keep no mutable state.
+     *
+     * @param random source of randomness owned by the calling thread
+     */
+    Move chooseMove(InformationSet informationSet, Random random);
+}
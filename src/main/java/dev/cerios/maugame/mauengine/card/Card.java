@@ -1,6 +1,33 @@
 package dev.cerios.maugame.mauengine.card;
 
 public record Card(CardType type, Color color) {
+    public static final int TYPE_COUNT = CardType.values().length;
+    public static final int COLOR_COUNT = Color.values().length;
+    public static final int DECK_SIZE = TYPE_COUNT * COLOR_COUNT;
+
+    private static final Card[] BY_ORDINAL = new Card[DECK_SIZE];
+
+    static {
+        for (Color color : Color.values()) {
+            for (CardType type : CardType.values()) {
+                var card = new Card(type, color);
+                BY_ORDINAL[card.ordinal()] = card;
+            }
+        }
+    }
+
+    /**
+     * Dense index of the card in range {@code [0, DECK_SIZE)}, each color occupies {@link #TYPE_COUNT}
+     * consecutive ordinals.
+     */
+    public int ordinal() {
+        return color.ordinal() * TYPE_COUNT + type.ordinal();
+    }
+
+    public static Card ofOrdinal(int ordinal) {
+        return BY_ORDINAL[ordinal];
+    }
+
     public String symbol() {
         return color.getSymbol() + type.getSymbol();
     }
@@ -1,14 +1,18 @@
 package dev.cerios.maugame.mauengine.card;
 
 public class CardComparer {
-    private volatile Color nextColor;
+    private Color nextColor;
 
     public boolean compare(Card pileCard, Card newCard) {
-        if (newCard.type() == CardType.QUEEN)
-            return true;
-        if (nextColor != null)
-            return newCard.color() == nextColor;
-        return pileCard.color() == newCard.color() || pileCard.type() == newCard.type();
+        return (playableMask(pileCard) & CardSet.bit(newCard)) != 0;
+    }
+
+    public int playableMask(Card pileCard) {
+        return PlayableTable.playable(pileCard, nextColor);
+    }
+
+    public Color getNextColor() {
+        return nextColor;
     }
 
     public void setNextColor(Color nextColor) {
@@ -2,53 +2,89 @@ package dev.cerios.maugame.mauengine.card;
 
 import dev.cerios.maugame.mauengine.exception.CardException;
 
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Deck, pile and cards in players' hands of a single game. Every card is unique, hands are kept as {@link CardSet}s.
+ * Games with several decks shuffled together are therefore no longer supported, the constructor rejects cards
+ * contained more than once. Not thread-safe, guarded by the owning game's lock.
+ */
 public class CardManager {
-    private final Queue<Card> deck;
-    private final Queue<Card> pile;
-    private final Map<Card, Integer> floatingCards;
+    public static final List<Card> STANDARD_DECK = List.copyOf(CardSet.toList(CardSet.ALL));
+    private static final Color[] COLORS = Color.values();
+    private static final byte NO_CARD = -1;
+
+    private final CardRing deck;
+    private Card pileCard;
+    private int floatingCards = CardSet.EMPTY;
+    private int returnedCards = CardSet.EMPTY;
     private final Random random;
 
     private final CardComparer cardComparer;
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
-
     public static CardManager create(Random random, CardComparer cardComparer) {
-        Set<Card> cards = new HashSet<>();
-        for (CardType type : CardType.values()) {
-            for (Color color : Color.values()) {
-                cards.add(new Card(type, color));
-            }
-        }
-        return new CardManager(cards, random, cardComparer)
+        return new CardManager(STANDARD_DECK, random, cardComparer)
                 .shuffleRemaining();
     }
 
+    /**
+     * @throws IllegalArgumentException when a card is contained more than once
+     */
     public CardManager(Collection<Card> cards, Random random, CardComparer cardComparer) {
         if (cards.isEmpty())
             throw new IllegalStateException("Cards must not be empty");
-        this.deck = new LinkedList<>(cards);
-        this.pile = new LinkedList<>();
-        this.floatingCards = new HashMap<>();
+        int seen = CardSet.EMPTY;
+        for (Card card : cards) {
+            if ((seen & CardSet.bit(card)) != 0)
+                throw new IllegalArgumentException("Cards must be unique, " + card + " is contained more than once.");
+            seen |= CardSet.bit(card);
+        }
+        this.deck = new CardRing(cards.size());
+        cards.forEach(deck::addLast);
+        this.random = random;
+        this.cardComparer = cardComparer;
+    }
+
+    private CardManager(int capacity, Random random, CardComparer cardComparer) {
+        this.deck = new CardRing(capacity);
         this.random = random;
         this.cardComparer = cardComparer;
     }
 
+    /**
+     * Writes deck order, pile, floating cards and the requested color, see {@link #readCheckpoint}.
+     */
+    public void writeCheckpoint(ByteBuffer out) {
+        out.putShort((short) deck.capacity());
+        out.putShort((short) deck.size());
+        for (int i = 0; i < deck.size(); i++)
+            out.put((byte) deck.get(i).ordinal());
+        out.put(pileCard == null ? NO_CARD : (byte) pileCard.ordinal());
+        out.putInt(floatingCards);
+        var nextColor = cardComparer.getNextColor();
+        out.put(nextColor == null ? NO_CARD : (byte) nextColor.ordinal());
+        out.putInt(returnedCards);
+    }
+
+    public static CardManager readCheckpoint(ByteBuffer in, Random random, CardComparer cardComparer) {
+        var manager = new CardManager(in.getShort(), random, cardComparer);
+        int deckSize = in.getShort();
+        for (int i = 0; i < deckSize; i++)
+            manager.deck.addLast(Card.ofOrdinal(in.get()));
+        byte pile = in.get();
+        manager.pileCard = pile == NO_CARD ? null : Card.ofOrdinal(pile);
+        manager.floatingCards = in.getInt();
+        byte nextColor = in.get();
+        if (nextColor != NO_CARD)
+            cardComparer.setNextColor(COLORS[nextColor]);
+        manager.returnedCards = in.getInt();
+        return manager;
+    }
+
     public CardManager shuffleRemaining() {
-        try {
-            lock.writeLock().lock();
-            List<Card> cardList = new ArrayList<>(Color.values().length * CardType.values().length);
-            while (!deck.isEmpty()) {
-                cardList.add(deck.remove());
-            }
-            Collections.shuffle(cardList, random);
-            deck.addAll(cardList);
-            return this;
-        } finally {
-            lock.writeLock().unlock();
-        }
+        deck.shuffle(random);
+        return this;
     }
 
     public Card draw() throws CardException {
@@ -56,106 +92,104 @@ public class CardManager {
     }
 
     public List<Card> draw(int n) throws CardException {
-        try {
-            lock.writeLock().lock();
-            if (deck.size() + pile.size() < n + 1) {
-                throw new CardException("Cannot draw " + n + " cards, only " + (deck.size() - 1) + " cards are available.");
-            }
-            List<Card> cardList = new ArrayList<>(n);
-            for (int i = 0; i < n; i++) {
-                var toDraw = deck.remove();
-                cardList.add(toDraw);
-                addFloatingCard(toDraw);
-            }
-            return cardList;
-        } finally {
-            lock.writeLock().unlock();
+        if (deck.size() + pileSize() < n + 1) {
+            throw new CardException("Cannot draw " + n + " cards, only " + (deck.size() - 1) + " cards are available.");
         }
+        List<Card> cardList = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            var toDraw = deck.removeFirst();
+            returnedCards &= ~CardSet.bit(toDraw);
+            cardList.add(toDraw);
+            addFloatingCard(toDraw);
+        }
+        return cardList;
     }
 
     public void addToDeck(Iterable<Card> cards) {
         cards.forEach(card -> {
             removeFloatingCard(card);
-            deck.add(card);
+            deck.addLast(card);
         });
     }
 
     public Card startPile() {
-        try {
-            lock.writeLock().lock();
-            Card card = deck.remove();
-            pile.add(card);
-            return card;
-        } finally {
-            lock.writeLock().unlock();
-        }
+        pileCard = deck.removeFirst();
+        return pileCard;
     }
 
     public Card peekPile() {
-        try {
-            lock.readLock().lock();
-            return pile.peek();
-        } finally {
-            lock.readLock().unlock();
-        }
+        return pileCard;
     }
 
     public boolean playCard(Card card, Color nextColor) throws CardException {
-        try {
-            lock.writeLock().lock();
-            var pileCard = pile.peek();
-            if (pileCard == null)
-                throw new CardException("Pile not started.");
-
-            if (!isFloatingCard(card))
-                throw new CardException("Card does not belong to the game.");
-
-            if (!cardComparer.compare(pileCard, card))
-                return false;
-
-            if (card.type() == CardType.QUEEN) {
-                if (nextColor == null)
-                    throw new CardException("Next color not specified, when played QUEEN.");
-                cardComparer.setNextColor(nextColor);
-            } else {
-                cardComparer.clear();
-            }
-            pile.add(card);
-            deck.add(pile.remove());
-            removeFloatingCard(card);
-            return true;
-        } finally {
-            lock.writeLock().unlock();
+        if (pileCard == null)
+            throw new CardException("Pile not started.");
+
+        if (!isFloatingCard(card))
+            throw new CardException("Card does not belong to the game.");
+
+        if (!cardComparer.compare(pileCard, card))
+            return false;
+
+        if (card.type() == CardType.QUEEN) {
+            if (nextColor == null)
+                throw new CardException("Next color not specified, when played QUEEN.");
+            cardComparer.setNextColor(nextColor);
+        } else {
+            cardComparer.clear();
         }
+        deck.addLast(pileCard);
+        returnedCards |= CardSet.bit(pileCard);
+        pileCard = card;
+        removeFloatingCard(card);
+        return true;
+    }
+
+    /**
+     * @return mask of cards which may be played on the current pile, {@link CardSet#EMPTY} if pile not started
+     */
+    public int playableMask() {
+        return pileCard == null ? CardSet.EMPTY : cardComparer.playableMask(pileCard);
+    }
+
+    /**
+     * @return color requested by the QUEEN on top of the pile, {@code null} if none
+     */
+    public Color requestedColor() {
+        return cardComparer.getNextColor();
+    }
+
+    /**
+     * Cards covered on the pile are put under the deck, which is never reshuffled. Every player therefore knows they
+     * stay in the deck until drawn again.
+     *
+     * @return mask of previously played cards lying in the deck
+     */
+    public int returnedCards() {
+        return returnedCards;
     }
 
     public int deckSize() {
-        try {
-            lock.readLock().lock();
-            return deck.size();
-        } finally {
-            lock.readLock().unlock();
-        }
+        return deck.size();
+    }
+
+    private int pileSize() {
+        return pileCard == null ? 0 : 1;
     }
 
     private void addFloatingCard(Card card) {
-        floatingCards.compute(card, (k, v) -> v == null ? 1 : v + 1);
+        floatingCards |= CardSet.bit(card);
     }
 
     private void removeFloatingCard(Card card) {
-        int cardCount = floatingCards.getOrDefault(card, 0);
-
         // this scenario should never happen, unless field is changed with reflection
-        if (cardCount == 0)
+        if (!isFloatingCard(card))
             throw new IllegalStateException("Cannot remove " + card);
 
-        if (cardCount == 1)
-            floatingCards.remove(card);
-        else
-            floatingCards.put(card, cardCount - 1);
+        floatingCards &= ~CardSet.bit(card);
     }
 
     private boolean isFloatingCard(Card card) {
-        return floatingCards.containsKey(card);
+        return (floatingCards & CardSet.bit(card)) != 0;
     }
 }
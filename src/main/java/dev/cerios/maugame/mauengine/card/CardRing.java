@@ -0,0 +1,77 @@
+package dev.cerios.maugame.mauengine.card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Fixed-capacity FIFO of cards backed by a circular array. Cards are taken from the head and returned to the tail,
+ * so draws and pile rotation never allocate.
+ */
+final class CardRing {
+    private final Card[] cards;
+    private int head = 0;
+    private int size = 0;
+
+    CardRing(int capacity) {
+        this.cards = new Card[capacity];
+    }
+
+    void addLast(Card card) {
+        if (size == cards.length)
+            throw new IllegalStateException("Deck capacity " + cards.length + " exceeded.");
+        cards[index(size++)] = card;
+    }
+
+    Card removeFirst() {
+        if (size == 0)
+            throw new NoSuchElementException("Deck is empty.");
+        var card = cards[head];
+        cards[head] = null;
+        head = index(1);
+        size--;
+        return card;
+    }
+
+    Card get(int i) {
+        return cards[index(i)];
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return cards.length;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * In-place Fisher-Yates shuffle, draws the same random sequence as {@link java.util.Collections#shuffle}.
+     */
+    void shuffle(Random random) {
+        for (int i = size; i > 1; i--) {
+            int a = index(i - 1);
+            int b = index(random.nextInt(i));
+            var tmp = cards[a];
+            cards[a] = cards[b];
+            cards[b] = tmp;
+        }
+    }
+
+    List<Card> toList() {
+        List<Card> out = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            out.add(get(i));
+        return out;
+    }
+
+    private int index(int offset) {
+        int i = head + offset;
+        return i >= cards.length ? i - cards.length : i;
+    }
+}
@@ -0,0 +1,148 @@
+package dev.cerios.maugame.mauengine.card;
+
+import java.util.*;
+
+/**
+ * Mutable set of cards encoded as a bitmask of {@link Card#ordinal()}s. Whole deck fits into single {@code int},
+ * so membership, insertion and removal are single bit operations. Iteration follows card ordinals.
+ */
+public final class CardSet extends AbstractSet<Card> {
+    public static final int EMPTY = 0;
+    public static final int ALL = deckMask();
+
+    private int bits;
+
+    public CardSet() {
+        this(EMPTY);
+    }
+
+    public CardSet(int bits) {
+        this.bits = bits;
+    }
+
+    public CardSet(Collection<Card> cards) {
+        this(EMPTY);
+        addAll(cards);
+    }
+
+    public static int bit(Card card) {
+        return 1 << card.ordinal();
+    }
+
+    public static int colorMask(Color color) {
+        return ((1 << Card.TYPE_COUNT) - 1) << (color.ordinal() * Card.TYPE_COUNT);
+    }
+
+    public static int typeMask(CardType type) {
+        int mask = EMPTY;
+        for (int color = 0; color < Card.COLOR_COUNT; color++) {
+            mask |= 1 << (color * Card.TYPE_COUNT + type.ordinal());
+        }
+        return mask;
+    }
+
+    public static int maskOf(Iterable<Card> cards) {
+        int mask = EMPTY;
+        for (Card card : cards)
+            mask |= bit(card);
+        return mask;
+    }
+
+    public static List<Card> toList(int bits) {
+        List<Card> cards = new ArrayList<>(Integer.bitCount(bits));
+        for (int rest = bits; rest != 0; rest &= rest - 1) {
+            cards.add(Card.ofOrdinal(Integer.numberOfTrailingZeros(rest)));
+        }
+        return cards;
+    }
+
+    public int bits() {
+        return bits;
+    }
+
+    public boolean contains(Card card) {
+        return (bits & bit(card)) != 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Card card && contains(card);
+    }
+
+    @Override
+    public boolean add(Card card) {
+        int before = bits;
+        bits |= bit(card);
+        return before != bits;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof Card card))
+            return false;
+        int before = bits;
+        bits &= ~bit(card);
+        return before != bits;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Card> c) {
+        int before = bits;
+        for (Card card : c)
+            bits |= bit(card);
+        return before != bits;
+    }
+
+    @Override
+    public void clear() {
+        bits = EMPTY;
+    }
+
+    @Override
+    public int size() {
+        return Integer.bitCount(bits);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return bits == EMPTY;
+    }
+
+    public List<Card> toList() {
+        return toList(bits);
+    }
+
+    @Override
+    public Iterator<Card> iterator() {
+        return new Iterator<>() {
+            private int remaining = bits;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return remaining != 0;
+            }
+
+            @Override
+            public Card next() {
+                if (remaining == 0)
+                    throw new NoSuchElementException();
+                last = Integer.numberOfTrailingZeros(remaining);
+                remaining &= remaining - 1;
+                return Card.ofOrdinal(last);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0)
+                    throw new IllegalStateException();
+                bits &= ~(1 << last);
+                last = -1;
+            }
+        };
+    }
+
+    private static int deckMask() {
+        return Card.DECK_SIZE == Integer.SIZE ? -1 : (1 << Card.DECK_SIZE) - 1;
+    }
+}
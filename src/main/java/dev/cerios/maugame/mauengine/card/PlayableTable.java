@@ -0,0 +1,34 @@
+package dev.cerios.maugame.mauengine.card;
+
+/**
+ * Precomputed compatibility table. For every top pile card and requested color (none or one of {@link Color})
+ * holds the mask of cards that may be played on it, so legality of a card or a whole hand is a single {@code AND}.
+ */
+public final class PlayableTable {
+    private static final int COLOR_STATES = Card.COLOR_COUNT + 1;
+    private static final int[] TABLE = new int[Card.DECK_SIZE * COLOR_STATES];
+
+    static {
+        final int queens = CardSet.typeMask(CardType.QUEEN);
+        for (int ordinal = 0; ordinal < Card.DECK_SIZE; ordinal++) {
+            var top = Card.ofOrdinal(ordinal);
+            TABLE[ordinal * COLOR_STATES] = queens | CardSet.colorMask(top.color()) | CardSet.typeMask(top.type());
+            for (Color color : Color.values()) {
+                TABLE[ordinal * COLOR_STATES + color.ordinal() + 1] = queens | CardSet.colorMask(color);
+            }
+        }
+    }
+
+    private PlayableTable() {
+    }
+
+    /**
+     * @param pileCard       top card of the pile
+     * @param requestedColor color requested by previously played QUEEN, or {@code null}
+     * @return mask of cards playable on the pile card
+     */
+    public static int playable(Card pileCard, Color requestedColor) {
+        int colorState = requestedColor == null ? 0 : requestedColor.ordinal() + 1;
+        return TABLE[pileCard.ordinal() * COLOR_STATES + colorState];
+    }
+}
@@ -0,0 +1,185 @@
+package dev.cerios.maugame.mauengine.codec;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.game.LegalMoves;
+import dev.cerios.maugame.mauengine.game.Player;
+import dev.cerios.maugame.mauengine.game.action.*;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static dev.cerios.maugame.mauengine.codec.WireFormat.*;
+
+/**
+ * Compact binary encoding of {@link Action}s. Every action starts with its {@link Action.ActionType} ordinal as a tag
+ * byte, cards take one byte, players are referenced by {@link Player#getSlot()} and counts, timestamps and slots are
+ * varints. Encoding writes straight into the caller's buffer and allocates nothing.
+ * <p>
+ * Registration of other players omits their player id, it is transmitted only to the player itself.
+ */
+public final class ActionCodec {
+    private static final Action.ActionType[] TYPES = Action.ActionType.values();
+
+    private static final int SHIFT_HAS_LEGAL_MOVES = 1;
+    private static final int SHIFT_CAN_DRAW = 1 << 1;
+    private static final int SHIFT_CAN_PASS = 1 << 2;
+
+    private ActionCodec() {
+    }
+
+    /**
+     * @throws java.nio.BufferOverflowException when the action does not fit into remaining space of the buffer
+     */
+    public static void encode(Action action, ByteBuffer buffer) {
+        buffer.put((byte) action.getType().ordinal());
+        switch (action) {
+            case RegisterAction a -> {
+                buffer.putLong(a.gameId().getMostSignificantBits());
+                buffer.putLong(a.gameId().getLeastSignificantBits());
+                buffer.put((byte) (a.isMe() ? 1 : 0));
+                putSlot(buffer, a.player().getSlot());
+                putString(buffer, a.player().getUsername());
+                if (a.isMe())
+                    putString(buffer, a.player().getPlayerId());
+            }
+            case ActivateAction a -> putSlot(buffer, a.player().getSlot());
+            case DeactivateAction a -> putSlot(buffer, a.player().getSlot());
+            case PlayCardAction a -> {
+                putSlot(buffer, a.player().getSlot());
+                putCard(buffer, a.card(), a.nextColor());
+            }
+            case DrawAction a -> {
+                var cards = a.cardsDrawn();
+                putVarInt(buffer, cards.size());
+                for (int i = 0; i < cards.size(); i++)
+                    putCard(buffer, cards.get(i));
+            }
+            case HiddenDrawAction a -> {
+                putSlot(buffer, a.player().getSlot());
+                putVarInt(buffer, a.count());
+            }
+            case PassAction a -> putSlot(buffer, a.player().getSlot());
+            case PlayerShiftAction a -> {
+                putSlot(buffer, a.getPlayer().getSlot());
+                putVarLong(buffer, a.getExpireAtMs());
+                var moves = a.getLegalMoves();
+                if (moves == null) {
+                    buffer.put((byte) 0);
+                } else {
+                    buffer.put((byte) (SHIFT_HAS_LEGAL_MOVES
+                            | (moves.canDraw() ? SHIFT_CAN_DRAW : 0)
+                            | (moves.canPass() ? SHIFT_CAN_PASS : 0)));
+                    buffer.putInt(moves.playableMask());
+                }
+            }
+            case StartAction a -> putString(buffer, a.gameId());
+            case EndAction a -> putStrings(buffer, a.playerRank());
+            case WinAction a -> putSlot(buffer, a.player().getSlot());
+            case LoseAction a -> putSlot(buffer, a.player().getSlot());
+            case SendRankAction a -> putStrings(buffer, a.playerRank());
+            case PlayersAction a -> {
+                var players = a.players();
+                putVarInt(buffer, players.size());
+                for (int i = 0; i < players.size(); i++) {
+                    putSlot(buffer, players.get(i).getSlot());
+                    putString(buffer, players.get(i).getUsername());
+                }
+            }
+            case StartPileAction a -> putCard(buffer, a.card());
+            case RemovePlayerAction a -> {
+                putSlot(buffer, a.player().getSlot());
+                putVarInt(buffer, a.recycledCards());
+            }
+            case DisqualifiedAction ignored -> {
+            }
+            default -> throw new IllegalArgumentException("Unsupported action " + action.getClass().getName());
+        }
+    }
+
+    /**
+     * Reads one action from the buffer, advancing its position past the action.
+     *
+     * @param players resolves slot numbers to players
+     */
+    public static Action decode(ByteBuffer buffer, PlayerDirectory players) {
+        int tag = buffer.get() & 0xFF;
+        if (tag >= TYPES.length)
+            throw new IllegalArgumentException("Unknown action tag " + tag);
+        return switch (TYPES[tag]) {
+            case REGISTER_PLAYER -> {
+                var gameId = new UUID(buffer.getLong(), buffer.getLong());
+                boolean isMe = buffer.get() != 0;
+                int slot = getVarInt(buffer);
+                var username = getString(buffer);
+                var playerId = isMe ? getString(buffer) : null;
+                yield new RegisterAction(gameId, players.announce(slot, playerId, username), isMe);
+            }
+            case ACTIVATE_PLAYER -> new ActivateAction(getPlayer(buffer, players));
+            case DEACTIVATE_PLAYER -> new DeactivateAction(getPlayer(buffer, players));
+            case PLAY_CARD -> {
+                var player = getPlayer(buffer, players);
+                byte card = buffer.get();
+                yield new PlayCardAction(player, getCard(card), getColor(card));
+            }
+            case DRAW -> {
+                int count = getVarInt(buffer);
+                var cards = new Card[count];
+                for (int i = 0; i < count; i++)
+                    cards[i] = getCard(buffer.get());
+                yield new DrawAction(List.of(cards));
+            }
+            case HIDDEN_DRAW -> new HiddenDrawAction(getPlayer(buffer, players), getVarInt(buffer));
+            case PASS -> new PassAction(getPlayer(buffer, players));
+            case PLAYER_SHIFT -> {
+                var player = getPlayer(buffer, players);
+                long expireAtMs = getVarLong(buffer);
+                int flags = buffer.get();
+                var moves = (flags & SHIFT_HAS_LEGAL_MOVES) == 0 ? null : new LegalMoves(
+                        buffer.getInt(),
+                        (flags & SHIFT_CAN_DRAW) != 0,
+                        (flags & SHIFT_CAN_PASS) != 0
+                );
+                yield new PlayerShiftAction(player, expireAtMs, moves);
+            }
+            case START_GAME -> new StartAction(getString(buffer));
+            case END_GAME -> new EndAction(getStrings(buffer));
+            case WIN -> new WinAction(getPlayer(buffer, players));
+            case LOSE -> new LoseAction(getPlayer(buffer, players));
+            case PLAYER_RANK -> new SendRankAction(getStrings(buffer));
+            case PLAYERS -> {
+                int count = getVarInt(buffer);
+                var decoded = new Player[count];
+                for (int i = 0; i < count; i++) {
+                    int slot = getVarInt(buffer);
+                    decoded[i] = players.announce(slot, null, getString(buffer));
+                }
+                yield new PlayersAction(Arrays.asList(decoded));
+            }
+            case START_PILE -> new StartPileAction(getCard(buffer.get()));
+            case REMOVE_PLAYER -> new RemovePlayerAction(getPlayer(buffer, players), getVarInt(buffer));
+            case DISQUALIFIED -> new DisqualifiedAction();
+        };
+    }
+
+    private static Player getPlayer(ByteBuffer buffer, PlayerDirectory players) {
+        int slot = getVarInt(buffer);
+        var player = players.bySlot(slot);
+        if (player == null)
+            throw new IllegalArgumentException("Unknown player slot " + slot);
+        return player;
+    }
+
+    private static void putStrings(ByteBuffer buffer, Collection<String> values) {
+        putVarInt(buffer, values.size());
+        for (String value : values)
+            putString(buffer, value);
+    }
+
+    private static List<String> getStrings(ByteBuffer buffer) {
+        int count = getVarInt(buffer);
+        var values = new String[count];
+        for (int i = 0; i < count; i++)
+            values[i] = getString(buffer);
+        return List.of(values);
+    }
+}
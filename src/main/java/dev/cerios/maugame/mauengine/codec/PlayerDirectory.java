@@ -0,0 +1,21 @@
+package dev.cerios.maugame.mauengine.codec;
+
+import dev.cerios.maugame.mauengine.game.Player;
+
+/**
+ * Resolves players referenced by slot number while decoding actions.
+ */
+@FunctionalInterface
+public interface PlayerDirectory {
+    Player bySlot(int slot);
+
+    /**
+     * Called for players carried by {@code REGISTER_PLAYER} and {@code PLAYERS} actions, which also transmit the
+     * username. Implementations without a prior knowledge of players can create them here.
+     *
+     * @param playerId present only in the registration sent to the player itself, otherwise {@code null}
+     */
+    default Player announce(int slot, String playerId, String username) {
+        return bySlot(slot);
+    }
+}
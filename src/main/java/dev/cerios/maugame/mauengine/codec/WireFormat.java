@@ -0,0 +1,143 @@
+package dev.cerios.maugame.mauengine.codec;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.Color;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Primitive encodings shared by binary formats of the engine. Integers are unsigned LEB128 varints, strings are varint
+ * length followed by UTF-8 bytes written straight into the buffer.
+ */
+public final class WireFormat {
+    private static final Color[] COLORS = Color.values();
+    private static final int NO_COLOR = 0;
+
+    private WireFormat() {
+    }
+
+    public static void putVarInt(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static int getVarInt(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed varint.");
+    }
+
+    public static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    public static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IllegalArgumentException("Malformed varlong.");
+    }
+
+    public static void putSlot(ByteBuffer buffer, int slot) {
+        if (slot < 0)
+            throw new IllegalArgumentException("Player is not seated in a game.");
+        putVarInt(buffer, slot);
+    }
+
+    /**
+     * Card ordinal in the low 5 bits, optional color in the high 3 bits.
+     */
+    public static void putCard(ByteBuffer buffer, Card card, Color color) {
+        int colorBits = color == null ? NO_COLOR : color.ordinal() + 1;
+        buffer.put((byte) (card.ordinal() | colorBits << 5));
+    }
+
+    public static void putCard(ByteBuffer buffer, Card card) {
+        putCard(buffer, card, null);
+    }
+
+    public static Card getCard(byte encoded) {
+        return Card.ofOrdinal(encoded & 0x1F);
+    }
+
+    public static Color getColor(byte encoded) {
+        int colorBits = (encoded & 0xFF) >>> 5;
+        return colorBits == NO_COLOR ? null : COLORS[colorBits - 1];
+    }
+
+    public static void putString(ByteBuffer buffer, String value) {
+        int length = value.length();
+        putVarInt(buffer, utf8Length(value));
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | cp >> 18));
+                buffer.put((byte) (0x80 | cp >> 12 & 0x3F));
+                buffer.put((byte) (0x80 | cp >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | cp & 0x3F));
+            } else {
+                if (Character.isSurrogate(c))
+                    c = '\uFFFD';
+                buffer.put((byte) (0xE0 | c >> 12));
+                buffer.put((byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        int length = getVarInt(buffer);
+        if (length > buffer.remaining())
+            throw new IllegalArgumentException("String length " + length + " exceeds remaining input.");
+        if (buffer.hasArray()) {
+            var value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return value;
+        }
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int utf8Length(String value) {
+        int length = value.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    bytes += 2;
+                    i++;
+                } else {
+                    bytes += 2;
+                }
+            } else if (c >= 0x80) {
+                bytes++;
+            }
+        }
+        return bytes;
+    }
+}
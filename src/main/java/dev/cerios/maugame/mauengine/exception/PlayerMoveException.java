@@ -1,15 +1,39 @@
 package dev.cerios.maugame.mauengine.exception;
 
+import lombok.Getter;
+
 public class PlayerMoveException extends MauEngineBaseException {
+    /**
+     * Why the move was rejected.
+     */
+    public enum Reason {
+        NOT_ON_TURN,
+        CARD_NOT_IN_HAND,
+        CARD_NOT_PLAYABLE,
+        DRAW_NOT_ALLOWED,
+        PASS_NOT_ALLOWED,
+        OTHER
+    }
+
+    @Getter
+    private final Reason reason;
+
     public PlayerMoveException() {
         super();
+        this.reason = Reason.OTHER;
     }
 
     public PlayerMoveException(String message) {
+        this(Reason.OTHER, message);
+    }
+
+    public PlayerMoveException(Reason reason, String message) {
         super(message);
+        this.reason = reason;
     }
 
     public PlayerMoveException(String message, Throwable cause) {
         super(message, cause);
+        this.reason = Reason.OTHER;
     }
 }
@@ -0,0 +1,20 @@
+package dev.cerios.maugame.mauengine.game;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event spanning delivery of a single action to its recipients within {@link PlayerManager}.
+ */
+@Name("dev.cerios.maugame.ActionDispatch")
+@Label("Action Dispatch")
+@Category({"MauGame", "Game"})
+@StackTrace(false)
+@Threshold("1 ms")
+final class ActionDispatchEvent extends Event {
+    @Label("Game Id")
+    String gameId;
+    @Label("Action Type")
+    String actionType;
+    @Label("Recipients")
+    int recipients;
+}
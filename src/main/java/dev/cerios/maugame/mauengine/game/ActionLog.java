@@ -0,0 +1,90 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.game.action.Action;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Numbers actions of a game and keeps a bounded ring of recent deliveries, so a reconnecting player can receive only
+ * the actions it missed. An action delivered to several players keeps one sequence number, broadcast hands the same
+ * instance to every recipient in turn. Not thread-safe, used under the owning game's lock.
+ */
+class ActionLog {
+    static final long NO_SEQUENCE = 0;
+
+    private final long[] sequences;
+    private final Action[] actions;
+    private final Player[] recipients;
+    private int head = 0;
+    private int size = 0;
+
+    private long sequence = NO_SEQUENCE;
+    private Action lastAction;
+    /**
+     * highest sequence of which some delivery was overwritten
+     */
+    private long evictedUpTo = NO_SEQUENCE;
+
+    ActionLog(int capacity) {
+        this.sequences = new long[capacity];
+        this.actions = new Action[capacity];
+        this.recipients = new Player[capacity];
+    }
+
+    /**
+     * @return sequence number of the action
+     */
+    long record(Player recipient, Action action) {
+        if (action != lastAction) {
+            lastAction = action;
+            sequence++;
+        }
+        int capacity = sequences.length;
+        if (capacity == 0) {
+            evictedUpTo = sequence;
+            return sequence;
+        }
+        int index;
+        if (size == capacity) {
+            index = head;
+            evictedUpTo = Math.max(evictedUpTo, sequences[index]);
+            head = head + 1 == capacity ? 0 : head + 1;
+        } else {
+            index = head + size < capacity ? head + size : head + size - capacity;
+            size++;
+        }
+        sequences[index] = sequence;
+        actions[index] = action;
+        recipients[index] = recipient;
+        return sequence;
+    }
+
+    /**
+     * Continues numbering of a restored game, actions before the sequence are not available.
+     */
+    void restoreSequence(long lastSequence) {
+        sequence = lastSequence;
+        evictedUpTo = lastSequence;
+    }
+
+    long lastSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return actions delivered to the player after the given sequence, {@code null} when some of them are no longer
+     * retained or the sequence is unknown
+     */
+    List<SequencedAction> since(Player recipient, long lastSeen) {
+        if (lastSeen < evictedUpTo || lastSeen > sequence)
+            return null;
+        List<SequencedAction> missed = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            int index = head + i < sequences.length ? head + i : head + i - sequences.length;
+            if (recipients[index] == recipient && sequences[index] > lastSeen)
+                missed.add(new SequencedAction(sequences[index], actions[index]));
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,64 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.codec.ActionCodec;
+import dev.cerios.maugame.mauengine.game.action.Action;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Encodes actions for wire listeners of a single game. Broadcast delivers the same action instance to every player in
+ * turn, so remembering the last encoded action is enough to encode it only once. Encoding is synchronized, state
+ * resend runs outside the game lock.
+ */
+class BroadcastEncoder {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private ByteBuffer scratch = ByteBuffer.allocate(INITIAL_CAPACITY);
+    private Action lastAction;
+    private ByteBuffer lastEncoded;
+    private long encodedCount;
+
+    GameEventListener adapt(GameEventWireListener listener) {
+        return new GameEventListener() {
+            @Override
+            public void accept(Player player, Action action) {
+                accept(player, action, ActionLog.NO_SEQUENCE);
+            }
+
+            @Override
+            public void accept(Player player, Action action, long sequence) {
+                listener.accept(player, encode(action), sequence);
+            }
+        };
+    }
+
+    /**
+     * @return read-only view of the encoded action, positioned at its start
+     */
+    synchronized ByteBuffer encode(Action action) {
+        if (action != lastAction) {
+            lastEncoded = ByteBuffer.wrap(encodeToArray(action)).asReadOnlyBuffer();
+            lastAction = action;
+            encodedCount++;
+        }
+        return lastEncoded.duplicate();
+    }
+
+    synchronized long encodedCount() {
+        return encodedCount;
+    }
+
+    private byte[] encodeToArray(Action action) {
+        while (true) {
+            scratch.clear();
+            try {
+                ActionCodec.encode(action, scratch);
+                return Arrays.copyOf(scratch.array(), scratch.position());
+            } catch (BufferOverflowException e) {
+                scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+            }
+        }
+    }
+}
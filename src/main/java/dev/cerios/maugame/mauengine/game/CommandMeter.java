@@ -0,0 +1,192 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import dev.cerios.maugame.mauengine.exception.PlayerMoveException;
+import dev.cerios.maugame.mauengine.game.action.Action;
+import dev.cerios.maugame.mauengine.metrics.Command;
+import dev.cerios.maugame.mauengine.metrics.MetricsSink;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.ToIntFunction;
+
+/**
+ * Splits latency of commands of a single game and reports it to the {@link MetricsSink}, additionally emits
+ * {@link GameCommandEvent} and {@link TurnTimeoutEvent} while they are enabled in a JFR recording. Apart from
+ * {@link #now()}, methods are called under the game's write lock. With {@link MetricsSink#NONE} and no recording
+ * nothing is measured.
+ */
+final class CommandMeter {
+    static final CommandMeter DISABLED = new CommandMeter(MetricsSink.NONE, null, playerId -> -1);
+
+    private final MetricsSink sink;
+    private final boolean enabled;
+    /**
+     * {@code null} when no JFR events are emitted
+     */
+    private final UUID gameId;
+    private final ToIntFunction<String> slots;
+    private long lockWait;
+    private long acquiredAt;
+    private long dispatchNanos;
+    private int connectedPlayers;
+    /**
+     * event of the current command, {@code null} while not recorded
+     */
+    private GameCommandEvent event;
+    private MauEngineBaseException rejection;
+
+    /**
+     * @param slots resolves seat of a player by its id, {@code -1} for unknown players
+     */
+    CommandMeter(MetricsSink sink, UUID gameId, ToIntFunction<String> slots) {
+        this.sink = sink;
+        this.enabled = sink != MetricsSink.NONE;
+        this.gameId = gameId;
+        this.slots = slots;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    long now() {
+        return enabled || recording() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * @param requestedAt result of {@link #now()} before the lock was requested
+     */
+    void lockAcquired(long requestedAt) {
+        rejection = null;
+        event = null;
+        if (gameId != null) {
+            var e = new GameCommandEvent();
+            if (e.isEnabled()) {
+                e.begin();
+                event = e;
+            }
+        }
+        if (!enabled && event == null)
+            return;
+        acquiredAt = System.nanoTime();
+        // recording might have started while the lock was requested
+        lockWait = requestedAt == 0 ? 0 : acquiredAt - requestedAt;
+        dispatchNanos = 0;
+    }
+
+    /**
+     * @param listenerCalled whether the listener was invoked, {@code false} when the action was added to a batch
+     */
+    void dispatched(Action action, long nanos, boolean listenerCalled) {
+        sink.recordDispatched(action.getType());
+        if (listenerCalled)
+            sink.recordListenerCall(nanos);
+        dispatchNanos += nanos;
+    }
+
+    void flushed(long nanos) {
+        sink.recordListenerCall(nanos);
+        dispatchNanos += nanos;
+    }
+
+    void rejected(Command command, MauEngineBaseException cause) {
+        rejection = cause;
+        if (enabled)
+            sink.recordRejected(command, cause);
+    }
+
+    /**
+     * @param playerId player issuing the command, {@code null} when not seated yet
+     */
+    void completed(Command command, String playerId) {
+        if (enabled) {
+            long total = System.nanoTime() - acquiredAt;
+            sink.recordCommand(command, lockWait, total - dispatchNanos, dispatchNanos);
+            if (rejection == null && command != Command.REGISTER)
+                sink.recordMove();
+        }
+        var e = event;
+        if (e == null)
+            return;
+        event = null;
+        e.end();
+        if (e.shouldCommit()) {
+            e.gameId = gameId.toString();
+            e.command = command.name();
+            e.playerSlot = playerId == null ? -1 : slots.applyAsInt(playerId);
+            e.outcome = outcome(rejection);
+            e.lockWait = lockWait;
+            e.commit();
+        }
+    }
+
+    void timeoutFired(String playerId, int turn, boolean takenOverByBot) {
+        if (enabled)
+            sink.recordTimeout();
+        if (gameId == null)
+            return;
+        var e = new TurnTimeoutEvent();
+        if (e.shouldCommit()) {
+            e.gameId = gameId.toString();
+            e.playerSlot = slots.applyAsInt(playerId);
+            e.turn = turn;
+            e.takenOverByBot = takenOverByBot;
+            e.commit();
+        }
+    }
+
+    /**
+     * Move played by the takeover strategy, moves of players are counted by {@link #completed}.
+     */
+    void botMoved() {
+        if (enabled)
+            sink.recordMove();
+    }
+
+    void stageChanged(Stage from, Stage to) {
+        if (enabled)
+            sink.recordStageChange(gameId, from, to);
+    }
+
+    void playersChanged(Stage stage, List<Player> players) {
+        if (!enabled)
+            return;
+        int connected = 0;
+        if (stage != Stage.FINISH) {
+            for (int i = 0; i < players.size(); i++) {
+                if (!players.get(i).isBotControlled())
+                    connected++;
+            }
+        }
+        if (connected != connectedPlayers) {
+            sink.recordConnectedPlayers(connected - connectedPlayers);
+            connectedPlayers = connected;
+        }
+    }
+
+    /**
+     * Game was dropped, it is no longer counted in {@code stage} and its players are no longer connected.
+     */
+    void discarded(Stage stage) {
+        if (!enabled)
+            return;
+        sink.recordGameDiscarded(gameId, stage);
+        if (connectedPlayers != 0) {
+            sink.recordConnectedPlayers(-connectedPlayers);
+            connectedPlayers = 0;
+        }
+    }
+
+    private boolean recording() {
+        return gameId != null && new GameCommandEvent().isEnabled();
+    }
+
+    private static String outcome(MauEngineBaseException rejection) {
+        if (rejection == null)
+            return "ACCEPTED";
+        if (rejection instanceof PlayerMoveException moveException)
+            return moveException.getReason().name();
+        return rejection.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,13 @@
+package dev.cerios.maugame.mauengine.game;
+
+public enum DispatchMode {
+    /**
+     * listeners are called directly by the thread executing the command, while the game lock is held
+     */
+    SYNC,
+    /**
+     * actions are put to a bounded per-player queue, drained by the player's own virtual thread. When the queue is
+     * full, the player's actions are dropped and the player gets the current state once the queue drains
+     */
+    ASYNC
+}
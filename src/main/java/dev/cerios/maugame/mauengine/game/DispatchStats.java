@@ -0,0 +1,45 @@
+package dev.cerios.maugame.mauengine.game;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of action delivery to listeners, shared by all games of a {@link GameFactory}.
+ */
+public class DispatchStats {
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @return number of listener invocations completed without an exception
+     */
+    public long getDelivered() {
+        return delivered.sum();
+    }
+
+    /**
+     * @return number of listener invocations which threw an exception
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * @return number of actions or batches discarded because player's outbound queue was full
+     */
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    void recordDelivered() {
+        delivered.increment();
+    }
+
+    void recordFailed() {
+        failed.increment();
+    }
+
+    void recordDropped() {
+        dropped.increment();
+    }
+}
@@ -0,0 +1,167 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.game.action.Action;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiConsumer;
+
+/**
+ * Decorates listeners of registered players according to {@link DispatchMode}. In {@link DispatchMode#SYNC} exceptions
+ * thrown by listeners propagate to the command which produced the action. In {@link DispatchMode#ASYNC} they are
+ * logged and counted, and a player whose queue overflows gets the full state instead of the dropped actions.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class EventDispatcher {
+    private final DispatchMode mode;
+    private final int queueCapacity;
+    private final DispatchStats stats;
+    private final Resync resync;
+
+    static EventDispatcher sync() {
+        return new EventDispatcher(DispatchMode.SYNC, 0, new DispatchStats(), (player, captured) -> captured.run());
+    }
+
+    /**
+     * Sends the full state of the game to a player, see {@link Game#resync}.
+     */
+    @FunctionalInterface
+    interface Resync {
+        /**
+         * @param captured run once the state is captured, while no command can produce actions
+         */
+        void resync(Player player, Runnable captured);
+    }
+
+    GameEventListener wrap(String name, GameEventListener listener) {
+        BiConsumer<Player, SequencedAction> wrapped = wrapConsumer(
+                name,
+                (player, event) -> listener.accept(player, event.action(), event.sequence())
+        );
+        return new GameEventListener() {
+            @Override
+            public void accept(Player player, Action action) {
+                accept(player, action, ActionLog.NO_SEQUENCE);
+            }
+
+            @Override
+            public void accept(Player player, Action action, long sequence) {
+                wrapped.accept(player, new SequencedAction(sequence, action));
+            }
+        };
+    }
+
+    GameEventBatchListener wrapBatch(String name, GameEventBatchListener listener) {
+        BiConsumer<Player, List<SequencedAction>> wrapped = wrapConsumer(name, listener::acceptSequenced);
+        return new GameEventBatchListener() {
+            @Override
+            public void accept(Player player, List<Action> actions) {
+                List<SequencedAction> sequenced = new ArrayList<>(actions.size());
+                for (int i = 0; i < actions.size(); i++)
+                    sequenced.add(new SequencedAction(ActionLog.NO_SEQUENCE, actions.get(i)));
+                acceptSequenced(player, sequenced);
+            }
+
+            @Override
+            public void acceptSequenced(Player player, List<SequencedAction> actions) {
+                wrapped.accept(player, actions);
+            }
+        };
+    }
+
+    GameEventWireListener wrapWire(String name, GameEventWireListener listener) {
+        BiConsumer<Player, SequencedFrame> wrapped = wrapConsumer(
+                name,
+                (player, frame) -> listener.accept(player, frame.action(), frame.sequence())
+        );
+        return new GameEventWireListener() {
+            @Override
+            public void accept(Player player, ByteBuffer action) {
+                accept(player, action, ActionLog.NO_SEQUENCE);
+            }
+
+            @Override
+            public void accept(Player player, ByteBuffer action, long sequence) {
+                wrapped.accept(player, new SequencedFrame(sequence, action));
+            }
+        };
+    }
+
+    private <T> BiConsumer<Player, T> wrapConsumer(String name, BiConsumer<Player, T> listener) {
+        return switch (mode) {
+            case SYNC -> (player, event) -> {
+                try {
+                    listener.accept(player, event);
+                } catch (RuntimeException e) {
+                    stats.recordFailed();
+                    throw e;
+                }
+                stats.recordDelivered();
+            };
+            case ASYNC -> new Outbound<>(listener, new Mailbox("player-" + name, queueCapacity));
+        };
+    }
+
+    private <T> void deliver(BiConsumer<Player, T> listener, Player player, T event) {
+        try {
+            listener.accept(player, event);
+            stats.recordDelivered();
+        } catch (Throwable e) {
+            stats.recordFailed();
+            log.warn("Listener of {} failed on {}.", player, event, e);
+        }
+    }
+
+    private record SequencedFrame(long sequence, ByteBuffer action) {
+    }
+
+    /**
+     * Queue of a single player. Once it overflows, actions are dropped until the player received the full state,
+     * which is sent after the actions queued so far.
+     */
+    @RequiredArgsConstructor
+    private final class Outbound<T> implements BiConsumer<Player, T> {
+        private final BiConsumer<Player, T> listener;
+        private final Mailbox queue;
+        private final AtomicBoolean resyncPending = new AtomicBoolean(false);
+        /**
+         * thread sending the full state, its actions are delivered directly and do not queue up behind newer ones
+         */
+        private volatile Thread resyncThread;
+
+        @Override
+        public void accept(Player player, T event) {
+            if (Thread.currentThread() == resyncThread) {
+                deliver(listener, player, event);
+                return;
+            }
+            if (resyncPending.get()) {
+                // superseded by the full state
+                stats.recordDropped();
+                return;
+            }
+            if (queue.submit(() -> deliver(listener, player, event)))
+                return;
+            stats.recordDropped();
+            if (resyncPending.compareAndSet(false, true)) {
+                log.warn("Outbound queue of {} is full, the player will get the full state.", player);
+                queue.submitOverCapacity(() -> resync(player));
+            }
+        }
+
+        private void resync(Player player) {
+            resyncThread = Thread.currentThread();
+            try {
+                resync.resync(player, () -> resyncPending.set(false));
+            } finally {
+                resyncThread = null;
+                resyncPending.set(false);
+            }
+        }
+    }
+}
@@ -1,193 +1,799 @@
 package dev.cerios.maugame.mauengine.game;
 
+import dev.cerios.maugame.mauengine.bot.InformationSet;
+import dev.cerios.maugame.mauengine.bot.Move;
+import dev.cerios.maugame.mauengine.bot.Strategy;
 import dev.cerios.maugame.mauengine.card.Card;
 import dev.cerios.maugame.mauengine.card.Color;
 import dev.cerios.maugame.mauengine.exception.GameException;
 import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
 import dev.cerios.maugame.mauengine.game.action.*;
+import dev.cerios.maugame.mauengine.journal.GameJournal;
+import dev.cerios.maugame.mauengine.journal.JournalEntry;
+import dev.cerios.maugame.mauengine.metrics.Command;
 import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
-import java.util.HashMap;
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
 import java.util.function.Predicate;
 
 import static dev.cerios.maugame.mauengine.game.Stage.LOBBY;
+import static dev.cerios.maugame.mauengine.game.Stage.RUNNING;
+import static dev.cerios.maugame.mauengine.journal.JournalEntry.Register.ListenerType.*;
 
 
+@Slf4j
 @RequiredArgsConstructor(access = AccessLevel.PACKAGE)
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 public class Game {
+    /**
+     * turns a takeover strategy plays within a single command, the rest is played when the bot's turn times out
+     */
+    private static final int MAX_BOT_TURNS_PER_COMMAND = 256;
+
     @Getter
     @EqualsAndHashCode.Include
     private final UUID uuid;
     private final GameCore core;
+    @Getter(AccessLevel.PACKAGE)
     private final PlayerManager playerManager;
+    /**
+     * single synchronization point of the game, components underneath are not thread-safe
+     */
+    private final ReadWriteLock lock;
+    private GameChangeListener changeListener;
+    /**
+     * receives every accepted command, {@code null} for games without journal
+     */
+    private volatile GameJournal journal;
+    /**
+     * failure of the journal after a command was applied, the game then rejects further commands since its journal
+     * would no longer replay to the same state
+     */
+    private volatile RuntimeException journalFailure;
+    private final StateVersions stateVersions = new StateVersions();
+    /**
+     * published at the end of every mutating command, read-side methods use it without locking
+     */
+    private volatile GameSnapshot snapshot;
+    /**
+     * plays for disconnected and timed out players, {@code null} when they are removed instead
+     */
+    private Strategy takeoverStrategy;
+    private CommandMeter meter = CommandMeter.DISABLED;
+    /**
+     * set by the running command once it succeeded, guarded by the write lock
+     */
+    private boolean accepted;
 
     public void playCardMove(final String playerId, Card cardToPlay) throws MauEngineBaseException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
         try {
             l.lock();
+            meter.lockAcquired(requestedAt);
+            ensureJournaled();
             playerManager.poke(playerId);
             core.performPlayCard(playerId, cardToPlay);
+            journal(new JournalEntry.PlayCard(playerId, cardToPlay, null));
+            accepted = true;
+        } catch (MauEngineBaseException e) {
+            meter.rejected(Command.PLAY_CARD, e);
+            throw e;
         } finally {
-            l.unlock();
+            finishCommand(l, Command.PLAY_CARD, playerId);
         }
     }
 
     public void playCardMove(final String playerId, Card cardToPlay, Color nextColor) throws MauEngineBaseException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
         try {
             l.lock();
+            meter.lockAcquired(requestedAt);
+            ensureJournaled();
             playerManager.poke(playerId);
             core.performPlayCard(playerId, cardToPlay, nextColor);
+            journal(new JournalEntry.PlayCard(playerId, cardToPlay, nextColor));
+            accepted = true;
+        } catch (MauEngineBaseException e) {
+            meter.rejected(Command.PLAY_CARD, e);
+            throw e;
         } finally {
-            l.unlock();
+            finishCommand(l, Command.PLAY_CARD, playerId);
         }
     }
 
     public void playDrawMove(final String playerId) throws MauEngineBaseException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
         try {
             l.lock();
+            meter.lockAcquired(requestedAt);
+            ensureJournaled();
             playerManager.poke(playerId);
             core.performDraw(playerId);
+            journal(new JournalEntry.Draw(playerId));
+            accepted = true;
+        } catch (MauEngineBaseException e) {
+            meter.rejected(Command.DRAW, e);
+            throw e;
         } finally {
-            l.unlock();
+            finishCommand(l, Command.DRAW, playerId);
         }
     }
 
     public void playPassMove(final String playerId) throws MauEngineBaseException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
         try {
             l.lock();
+            meter.lockAcquired(requestedAt);
+            ensureJournaled();
             playerManager.poke(playerId);
             core.performPass(playerId);
+            journal(new JournalEntry.Pass(playerId));
+            accepted = true;
+        } catch (MauEngineBaseException e) {
+            meter.rejected(Command.PASS, e);
+            throw e;
         } finally {
-            l.unlock();
+            finishCommand(l, Command.PASS, playerId);
         }
     }
 
     public Player registerPlayer(String username, final GameEventListener eventListener) throws GameException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
         try {
             l.lock();
-            if (core.getStage() != LOBBY) {
-                throw new GameException("The game has already started.");
-            }
-            return playerManager.registerPlayer(username, eventListener);
+            meter.lockAcquired(requestedAt);
+            validateRegistration(username);
+            return journalRegistration(playerManager.registerPlayer(username, eventListener), EVENT);
+        } catch (GameException e) {
+            meter.rejected(Command.REGISTER, e);
+            throw e;
         } finally {
-            l.unlock();
+            finishCommand(l, Command.REGISTER, null);
+        }
+    }
+
+    /**
+     * Registers player whose listener receives all actions of a command as a single batch.
+     */
+    public Player registerBatchPlayer(String username, final GameEventBatchListener batchListener) throws GameException {
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
+        try {
+            l.lock();
+            meter.lockAcquired(requestedAt);
+            validateRegistration(username);
+            return journalRegistration(playerManager.registerBatchPlayer(username, batchListener), BATCH);
+        } catch (GameException e) {
+            meter.rejected(Command.REGISTER, e);
+            throw e;
+        } finally {
+            finishCommand(l, Command.REGISTER, null);
+        }
+    }
+
+    /**
+     * Registers player whose listener receives actions encoded by
+     * {@link dev.cerios.maugame.mauengine.codec.ActionCodec}, actions shared by several players are encoded once.
+     */
+    public Player registerWirePlayer(String username, final GameEventWireListener wireListener) throws GameException {
+        var l = lock.writeLock();
+        long requestedAt = meter.now();
+        try {
+            l.lock();
+            meter.lockAcquired(requestedAt);
+            validateRegistration(username);
+            return journalRegistration(playerManager.registerWirePlayer(username, wireListener), WIRE);
+        } catch (GameException e) {
+            meter.rejected(Command.REGISTER, e);
+            throw e;
+        } finally {
+            finishCommand(l, Command.REGISTER, null);
         }
     }
 
     public void removePlayer(String playerId) throws GameException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
         try {
             l.lock();
+            ensureJournaled();
             playerManager.removePlayer(playerId);
+            journal(new JournalEntry.Remove(playerId));
+            accepted = true;
         } finally {
-            l.unlock();
+            finishCommand(l);
+        }
+    }
+
+    void onTurnTimeout(String playerId, int turn) {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            if (playerManager.getTurn() != turn || journalFailure != null)
+                return;
+            meter.timeoutFired(playerId, turn, takeoverStrategy != null);
+            if (takeoverStrategy != null) {
+                // seat already driven by the bot continues with the next batch of its turns
+                handOverToBot(playerManager.getPlayer(playerId));
+                accepted = true;
+                return;
+            }
+            playerManager.removePlayer(playerId);
+            journal(new JournalEntry.Remove(playerId));
+            accepted = true;
+        } catch (GameException e) {
+            log.warn(e.getMessage(), e);
+        } finally {
+            finishCommand(l);
+        }
+    }
+
+    /**
+     * Lets the takeover strategy play for the player until {@link #reconnectPlayer}, other players receive
+     * {@link DeactivateAction}. The player keeps receiving actions.
+     *
+     * @throws GameException when the game has no takeover strategy, see {@link GameOptions#takeoverStrategy()}
+     */
+    public void disconnectPlayer(String playerId) throws GameException {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            ensureJournaled();
+            if (takeoverStrategy == null)
+                throw new GameException("Bot takeover is not enabled for this game.");
+            handOverToBot(playerManager.getPlayer(playerId));
+            accepted = true;
+        } finally {
+            finishCommand(l);
+        }
+    }
+
+    /**
+     * Returns the seat taken over by the bot back to the player, other players receive {@link ActivateAction}. The
+     * player should request the current state by {@link #sendCurrentStateTo} or {@link #catchUp}.
+     */
+    public void reconnectPlayer(String playerId) throws GameException {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            ensureJournaled();
+            var player = playerManager.getPlayer(playerId);
+            if (!player.isBotControlled())
+                return;
+            player.setBotControlled(false);
+            playerManager.distributeActionToAll(new ActivateAction(player));
+            accepted = true;
+        } finally {
+            finishCommand(l);
         }
     }
 
     public GameState getGameState() {
-        var l = playerManager.readLock();
-        try {
-            l.lock();
-            return new GameState(
-                    playerManager.getPlayerRank().stream().toList(),
-                    playerManager.getPlayers().stream().collect(
-                            HashMap::new,
-                            (map, player) -> map.put(player.getUsername(), player.getHand()),
-                            HashMap::putAll
-                    ),
-                    core.getPileCard(),
-                    core.getDeckSize(),
-                    core.getStage(),
-                    playerManager.currentPlayer().getUsername(),
-                    core.getGameEffect()
-            );
+        return snapshot.toGameState();
+    }
+
+    /**
+     * Retrieves only parts of the state which changed after the given version. Pass {@code 0} to get everything, then
+     * {@link GameStateDelta#version()} of the previous result.
+     *
+     * @throws IllegalArgumentException when the version is newer than the current one
+     */
+    public GameStateDelta getGameStateSince(long version) {
+        var l = lock.readLock();
+        try {
+            l.lock();
+            return stateVersions.since(version, playerManager);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Retrieves moves the player can make right now. Players not on turn get {@link LegalMoves#NONE}.
+     */
+    public LegalMoves legalMoves(String playerId) throws GameException {
+        var l = lock.readLock();
+        try {
+            l.lock();
+            return core.legalMoves(playerManager.getPlayer(playerId));
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Retrieves what the player knows about the game, input of a {@link dev.cerios.maugame.mauengine.bot.Strategy}.
+     */
+    public InformationSet informationSet(String playerId) throws GameException {
+        var l = lock.readLock();
+        try {
+            l.lock();
+            return core.informationSet(playerManager.getPlayer(playerId));
         } finally {
             l.unlock();
         }
     }
 
     public int getFreeCapacity() {
-        return playerManager.getFreeCapacity();
+        return snapshot.freeCapacity();
     }
 
     public boolean hasEnoughPlayers() {
-        return playerManager.hasEnoughPlayers();
+        return snapshot.hasEnoughPlayers();
     }
 
     public void start() throws MauEngineBaseException {
-        var l = playerManager.writeLock();
+        var l = lock.writeLock();
         try {
             l.lock();
+            ensureJournaled();
             var pileCard = core.start();
+            journal(new JournalEntry.Start());
 
             playerManager.distributeActionToAll(new StartAction(uuid.toString()));
             playerManager.distributeActionToAll(new StartPileAction(pileCard));
             playerManager.initializePlayer();
 
             for (Player player : playerManager.getPlayers()) {
-                player.trigger(new DrawAction(player.getHand()));
+                player.trigger(new DrawAction(player.getHand().toList()));
                 playerManager.distributeActionExcludingPlayer(
                         new HiddenDrawAction(player, (byte) player.getHand().size()),
                         player.getPlayerId()
                 );
             }
+            accepted = true;
         } finally {
-            l.unlock();
+            finishCommand(l);
         }
     }
 
     public Player getPlayer(String playerId) throws GameException {
-        return playerManager.getPlayer(playerId);
+        var player = snapshot.player(playerId);
+        if (player == null)
+            throw new GameException("No player with id `" + playerId + "` was found.");
+        return player;
     }
 
     public Stage getStage() {
-        var l = playerManager.readLock();
+        return snapshot.stage();
+    }
+
+    public List<Player> getAllPlayers() {
+        return snapshot.players();
+    }
+
+    /**
+     * Sends the published state to the player on the calling thread. The read lock keeps commands from broadcasting
+     * newer actions in between, the player gets them after the state.
+     */
+    public void sendCurrentStateTo(String playerId, Predicate<Player> playerMatcher) throws GameException {
+        var l = lock.readLock();
+        try {
+            l.lock();
+            var state = snapshot;
+            var player = state.player(playerId);
+            if (player == null)
+                throw new GameException("No player with id `" + playerId + "` was found.");
+            if (!playerMatcher.test(player))
+                throw new GameException("No matching player.");
+            sendState(state, player);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Sends the full state to a player whose outbound queue overflowed, see {@link EventDispatcher.Resync}. Players
+     * which left the game meanwhile are skipped.
+     */
+    void resync(Player player, Runnable captured) {
+        GameSnapshot state;
+        var l = lock.readLock();
         try {
             l.lock();
-            return core.getStage();
+            state = snapshot;
+            captured.run();
         } finally {
             l.unlock();
         }
+        if (state.player(player.getPlayerId()) == player)
+            sendState(state, player);
     }
 
-    public List<Player> getAllPlayers() {
-        return playerManager.getPlayers();
+    /**
+     * Lobby players get the players registered so far, the same as on their registration, nothing is dealt yet.
+     */
+    private void sendState(GameSnapshot state, Player player) {
+        if (state.stage() == LOBBY) {
+            player.triggerAll(List.of(new PlayersAction(state.players())), state.lastSequence());
+            return;
+        }
+        List<Action> actions = new ArrayList<>(state.players().size() + 4);
+
+        actions.add(new StartAction(getUuid().toString()));
+        actions.add(new StartPileAction(state.pileCard()));
+        var players = state.players();
+        for (int i = 0; i < players.size(); i++) {
+            var p = players.get(i);
+            if (p == player)
+                actions.add(new DrawAction(state.hand(i)));
+            else
+                actions.add(new HiddenDrawAction(p, state.handSize(i)));
+        }
+        if (state.currentPlayer() != null) {
+            actions.add(new PlayerShiftAction(
+                    state.currentPlayer(),
+                    state.currentPlayer() == player ? state.expireAtMs() : -1
+            ));
+        }
+        actions.add(new SendRankAction(state.playerRank()));
+
+        player.triggerAll(actions, state.lastSequence());
     }
 
-    public void sendCurrentStateTo(String playerId, Predicate<Player> playerMatcher) throws GameException {
-        var l = playerManager.readLock();
+    /**
+     * Sends the player only actions delivered to it after {@code lastSequence}, falls back to
+     * {@link #sendCurrentStateTo} when some of them are no longer retained.
+     *
+     * @param lastSequence sequence of the last action the client received, see
+     *                     {@link GameEventListener#accept(Player, Action, long)}
+     * @return {@code true} if only the missed actions were sent, {@code false} on the full state fallback
+     */
+    public boolean catchUp(String playerId, long lastSequence, Predicate<Player> playerMatcher) throws GameException {
+        var l = lock.readLock();
         try {
             l.lock();
             var player = playerManager.getPlayer(playerId);
             if (!playerMatcher.test(player))
                 throw new GameException("No matching player.");
-            List<Action> actions = new LinkedList<>();
-
-            actions.add(new StartAction(getUuid().toString()));
-            actions.add(new StartPileAction(core.getPileCard()));
-            for (Player p : playerManager.getPlayers()) {
-                if (p.getPlayerId().equals(playerId))
-                    actions.add(new DrawAction(p.getHand()));
-                else
-                    actions.add(new HiddenDrawAction(p, p.getHand().size()));
+            var missed = playerManager.getActionLog().since(player, lastSequence);
+            if (missed != null) {
+                player.redeliver(missed);
+                return true;
+            }
+        } finally {
+            l.unlock();
+        }
+        sendCurrentStateTo(playerId, playerMatcher);
+        return false;
+    }
+
+    void setChangeListener(GameChangeListener changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Detaches the change listener and stops reporting the game to its metrics sink, called once the owner dropped the
+     * game. Commands issued afterwards still run, they are just no longer reported.
+     */
+    void discard() {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            changeListener = null;
+            if (snapshot != null)
+                meter.discarded(snapshot.stage());
+            meter = CommandMeter.DISABLED;
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * @return future completed once all commands accepted so far are durable in the journal, completed immediately
+     * for games without journal, failed once the game stopped on a journal failure
+     */
+    public CompletableFuture<Void> syncJournal() {
+        var failure = journalFailure;
+        if (failure != null)
+            return CompletableFuture.failedFuture(failure);
+        var current = journal;
+        return current == null ? CompletableFuture.completedFuture(null) : current.sync();
+    }
+
+    /**
+     * Captures the whole game into a compact versioned binary form, restored by
+     * {@link GameFactory#restoreCheckpoint}. Listeners and the journal are not part of the checkpoint.
+     */
+    public byte[] checkpoint() {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            return GameCheckpoint.write(uuid, core, playerManager);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    void restoreCheckpoint(ByteBuffer in, RestoredListeners listeners) {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            core.readCheckpoint(in);
+            playerManager.readCheckpoint(in, listeners);
+            stateVersions.record(core, playerManager);
+            publishSnapshot();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    void setMeter(CommandMeter meter) {
+        this.meter = meter;
+    }
+
+    void setTakeoverStrategy(Strategy takeoverStrategy) {
+        this.takeoverStrategy = takeoverStrategy;
+    }
+
+    void setJournal(GameJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Registers player with the id and the kind of listener it had before the game was rebuilt from its journal.
+     */
+    Player restorePlayer(JournalEntry.Register registration, RestoredListeners listeners) throws GameException {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            if (core.getStage() != LOBBY) {
+                throw new GameException("The game has already started.");
             }
-            actions.add(new PlayerShiftAction(playerManager.currentPlayer(), playerManager.getLastExpire(playerId)));
-            actions.add(new SendRankAction(playerManager.getPlayerRank()));
+            var playerId = registration.playerId();
+            var username = registration.username();
+            var player = switch (registration.listenerType()) {
+                case EVENT -> playerManager.registerPlayer(playerId, username, listeners.listener(username));
+                case BATCH -> playerManager.registerBatchPlayer(playerId, username, listeners.batchListener(username));
+                case WIRE -> playerManager.registerWirePlayer(playerId, username, listeners.wireListener(username));
+            };
+            return journalRegistration(player, registration.listenerType());
+        } finally {
+            finishCommand(l);
+        }
+    }
 
-            actions.forEach(player::trigger);
+    /**
+     * While replaying, actions are recorded with their sequences but not delivered. Muting applies when an action
+     * is produced, so actions queued for asynchronous delivery are not affected.
+     */
+    void setReplaying(boolean replaying) {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            playerManager.setMuted(replaying);
         } finally {
             l.unlock();
         }
     }
+
+    private Player journalRegistration(Player player, JournalEntry.Register.ListenerType listenerType) {
+        journal(new JournalEntry.Register(player.getPlayerId(), player.getUsername(), listenerType));
+        accepted = true;
+        return player;
+    }
+
+    private void handOverToBot(Player player) {
+        if (player.isBotControlled() || player.isFinished())
+            return;
+        player.setBotControlled(true);
+        playerManager.distributeActionToAll(new DeactivateAction(player));
+    }
+
+    /**
+     * Plays turns of bot controlled seats until a human player is on turn. Bot which gets stuck, fails to choose a move
+     * or whose move is rejected is removed from the game, the same way as a timed out player without takeover.
+     * A failing journal stops the game, see {@link #journal}.
+     */
+    private void playBotTurns() {
+        for (int i = 0; i < MAX_BOT_TURNS_PER_COMMAND && core.getStage() == RUNNING; i++) {
+            var player = playerManager.currentPlayer();
+            if (!player.isBotControlled())
+                return;
+            var playerId = player.getPlayerId();
+            Move move;
+            try {
+                var informationSet = core.informationSet(player);
+                move = informationSet.legalMoves().equals(LegalMoves.NONE)
+                        ? null
+                        : takeoverStrategy.chooseMove(informationSet, ThreadLocalRandom.current());
+            } catch (RuntimeException e) {
+                log.warn("Bot playing for {} failed, removing the player.", player, e);
+                move = null;
+            }
+            if (move == null) {
+                if (!removeBotPlayer(player))
+                    return;
+                continue;
+            }
+            try {
+                playerManager.poke(playerId);
+                core.perform(playerId, move);
+            } catch (MauEngineBaseException e) {
+                log.warn("Move {} of bot playing for {} was rejected, removing the player.", move, player, e);
+                if (!removeBotPlayer(player))
+                    return;
+                continue;
+            } catch (RuntimeException e) {
+                // the move may be applied already, removing the player would leave it unjournaled
+                log.error("Move {} of bot playing for {} failed, bot turns stop.", move, player, e);
+                journal(botMoveEntry(playerId, move));
+                return;
+            }
+            meter.botMoved();
+            journal(botMoveEntry(playerId, move));
+        }
+    }
+
+    /**
+     * @return {@code false} when the player could not be removed and bot turns should stop
+     */
+    private boolean removeBotPlayer(Player player) {
+        try {
+            playerManager.removePlayer(player.getPlayerId());
+        } catch (GameException | RuntimeException e) {
+            log.error("Removing {} from game {} failed, bot turns stop.", player, uuid, e);
+            return false;
+        }
+        journal(new JournalEntry.Remove(player.getPlayerId()));
+        return true;
+    }
+
+    private static JournalEntry botMoveEntry(String playerId, Move move) {
+        return switch (move) {
+            case Move.PlayCard(Card card, Color nextColor) -> new JournalEntry.PlayCard(playerId, card, nextColor);
+            case Move.Draw ignored -> new JournalEntry.Draw(playerId);
+            case Move.Pass ignored -> new JournalEntry.Pass(playerId);
+        };
+    }
+
+    /**
+     * Journals a command which is applied already. When that fails, the game is stopped: it keeps the applied command
+     * but rejects further ones, see {@link #ensureJournaled}.
+     *
+     * @throws IllegalStateException when the entry could not be appended
+     */
+    private void journal(JournalEntry entry) {
+        var current = journal;
+        if (current == null)
+            return;
+        try {
+            current.append(entry);
+        } catch (RuntimeException e) {
+            journalFailure = e;
+            closeJournal();
+            throw new IllegalStateException(
+                    "Journaling " + entry + " of game " + uuid + " failed, the game stopped.", e
+            );
+        }
+    }
+
+    private void ensureJournaled() throws GameException {
+        if (journalFailure != null)
+            throw new GameException("The game stopped after its journal failed.");
+    }
+
+    /**
+     * Checks everything the registration journals before the player is added.
+     */
+    private void validateRegistration(String username) throws GameException {
+        ensureJournaled();
+        if (core.getStage() != LOBBY) {
+            throw new GameException("The game has already started.");
+        }
+        if (journal != null && !GameJournal.isEncodable(username))
+            throw new GameException("The username is too long.");
+    }
+
+    /**
+     * Records and publishes the initial state of a freshly created game.
+     */
+    void recordInitialState() {
+        var l = lock.writeLock();
+        try {
+            l.lock();
+            stateVersions.record(core, playerManager);
+            publishSnapshot();
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Completes a mutating command and releases its write lock. Failures of the post-command hooks are logged, they
+     * must never leave the game locked.
+     */
+    private void finishCommand(Lock l, Command command, String playerId) {
+        boolean wasAccepted = accepted;
+        accepted = false;
+        try {
+            publishChanges();
+            // bot turns triggered by the command are metered as moves of their own, not as part of the command
+            meter.completed(command, playerId);
+            afterCommand(wasAccepted);
+        } catch (RuntimeException e) {
+            log.error("Completing {} in game {} failed.", command, uuid, e);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    private void finishCommand(Lock l) {
+        boolean wasAccepted = accepted;
+        accepted = false;
+        try {
+            publishChanges();
+            afterCommand(wasAccepted);
+        } catch (RuntimeException e) {
+            log.error("Completing command in game {} failed.", uuid, e);
+        } finally {
+            l.unlock();
+        }
+    }
+
+    /**
+     * Delivers collected batches and publishes the changed state.
+     */
+    private void publishChanges() {
+        playerManager.flushBatches();
+        stateVersions.record(core, playerManager);
+        publishSnapshot();
+    }
+
+    /**
+     * Invoked at the end of every mutating command once its changes are published, while the write lock is still
+     * held. Bots react only to accepted commands, a rejected one changed nothing.
+     */
+    private void afterCommand(boolean commandAccepted) {
+        if (commandAccepted && takeoverStrategy != null) {
+            try {
+                playBotTurns();
+            } catch (RuntimeException e) {
+                log.error("Playing bot turns in game {} failed.", uuid, e);
+            }
+            publishChanges();
+        }
+        if (journal != null && core.getStage() == Stage.FINISH)
+            closeJournal();
+        if (changeListener != null)
+            changeListener.onGameChanged(this, core.getStage(), playerManager.getFreeCapacity());
+    }
+
+    /**
+     * Closes the journal without waiting for its last entries, so the lock is not held during an fsync.
+     */
+    private void closeJournal() {
+        journal.closeAsync().exceptionally(e -> {
+            log.warn("Closing journal of game {} failed.", uuid, e);
+            return null;
+        });
+        journal = null;
+    }
+
+    private void publishSnapshot() {
+        var previous = snapshot;
+        var version = stateVersions.version();
+        if (previous != null && previous.version() == version
+                && previous.lastSequence() == playerManager.getActionLog().lastSequence())
+            return;
+        snapshot = GameSnapshot.capture(core, playerManager, version, previous);
+        if (previous == null || previous.stage() != snapshot.stage())
+            meter.stageChanged(previous == null ? null : previous.stage(), snapshot.stage());
+        meter.playersChanged(snapshot.stage(), snapshot.players());
+    }
 }
@@ -0,0 +1,10 @@
+package dev.cerios.maugame.mauengine.game;
+
+/**
+ * Notified after every mutating command of a game. Called under the game's write lock, so notifications of one game
+ * never interleave and implementations must not block.
+ */
+@FunctionalInterface
+interface GameChangeListener {
+    void onGameChanged(Game game, Stage stage, int freeCapacity);
+}
@@ -0,0 +1,58 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.CardManager;
+
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Versioned binary format of a whole game. Layout is a magic number, format version, game id and player limits,
+ * followed by sections of {@link CardManager}, {@link GameCore} and {@link PlayerManager}.
+ */
+final class GameCheckpoint {
+    private static final int MAGIC = 0x4D415547;
+    private static final byte FORMAT_VERSION = 6;
+    private static final int INITIAL_SIZE = 512;
+
+    private GameCheckpoint() {
+    }
+
+    record Header(UUID gameId, int minPlayers, int maxPlayers) {
+    }
+
+    static byte[] write(UUID gameId, GameCore core, PlayerManager playerManager) {
+        var out = ByteBuffer.allocate(INITIAL_SIZE);
+        while (true) {
+            try {
+                out.putInt(MAGIC);
+                out.put(FORMAT_VERSION);
+                out.putLong(gameId.getMostSignificantBits());
+                out.putLong(gameId.getLeastSignificantBits());
+                out.putShort((short) playerManager.MIN_PLAYERS);
+                out.putShort((short) playerManager.MAX_PLAYERS);
+                core.getCardManager().writeCheckpoint(out);
+                core.writeCheckpoint(out);
+                playerManager.writeCheckpoint(out);
+                return Arrays.copyOf(out.array(), out.position());
+            } catch (BufferOverflowException e) {
+                out = ByteBuffer.allocate(out.capacity() * 2);
+            }
+        }
+    }
+
+    static Header readHeader(ByteBuffer in) {
+        try {
+            if (in.getInt() != MAGIC)
+                throw new IllegalArgumentException("Not a game checkpoint.");
+            byte version = in.get();
+            if (version != FORMAT_VERSION)
+                throw new IllegalArgumentException("Unsupported checkpoint format " + version);
+            return new Header(new UUID(in.getLong(), in.getLong()), in.getShort(), in.getShort());
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated checkpoint.", e);
+        }
+    }
+}
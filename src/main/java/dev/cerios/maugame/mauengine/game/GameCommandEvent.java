@@ -0,0 +1,28 @@
+package dev.cerios.maugame.mauengine.game;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event spanning a command of a game from acquiring its write lock to publishing the result, see
+ * {@link CommandMeter}.
+ */
+@Name("dev.cerios.maugame.GameCommand")
+@Label("Game Command")
+@Category({"MauGame", "Game"})
+@StackTrace(false)
+@Threshold("1 ms")
+final class GameCommandEvent extends Event {
+    @Label("Game Id")
+    String gameId;
+    @Label("Command")
+    String command;
+    @Label("Player Slot")
+    @Description("Seat of the player issuing the command, -1 for registrations")
+    int playerSlot;
+    @Label("Outcome")
+    @Description("ACCEPTED, reason of a rejected move or class of the exception rejecting the command")
+    String outcome;
+    @Label("Lock Wait")
+    @Timespan
+    long lockWait;
+}
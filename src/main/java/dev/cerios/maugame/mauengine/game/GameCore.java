@@ -1,8 +1,10 @@
 package dev.cerios.maugame.mauengine.game;
 
+import dev.cerios.maugame.mauengine.bot.InformationSet;
+import dev.cerios.maugame.mauengine.bot.Move;
 import dev.cerios.maugame.mauengine.card.Card;
 import dev.cerios.maugame.mauengine.card.CardManager;
-import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.CardSet;
 import dev.cerios.maugame.mauengine.card.Color;
 import dev.cerios.maugame.mauengine.exception.CardException;
 import dev.cerios.maugame.mauengine.exception.GameException;
@@ -14,20 +16,27 @@ import dev.cerios.maugame.mauengine.game.effect.GameEffect;
 import dev.cerios.maugame.mauengine.game.effect.SkipEffect;
 import lombok.Getter;
 
-import java.util.LinkedList;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
+import static dev.cerios.maugame.mauengine.codec.WireFormat.getVarInt;
+import static dev.cerios.maugame.mauengine.codec.WireFormat.putVarInt;
+import static dev.cerios.maugame.mauengine.exception.PlayerMoveException.Reason.*;
 import static dev.cerios.maugame.mauengine.game.Stage.*;
 
 class GameCore {
+    private static final byte NO_EFFECT = 0;
+    private static final byte DRAW_EFFECT = 1;
+    private static final byte SKIP_EFFECT = 2;
 
     private final CardManager cardManager;
     private final PlayerManager playerManager;
 
     @Getter
-    private volatile GameEffect gameEffect = null;
+    private GameEffect gameEffect = null;
     private final AtomicReference<Stage> stage;
+    private volatile TurnMoves turnMoves;
 
     public GameCore(CardManager cardManager, PlayerManager playerManager, AtomicReference<Stage> stage) {
         this.cardManager = cardManager;
@@ -40,46 +49,33 @@ class GameCore {
     }
 
     public void performPlayCard(final String playerId, Card card, Color nextColor) throws MauEngineBaseException {
-        validatePlayerPlay(playerId);
-        var player = playerManager.getPlayer(playerId);
+        var player = validatePlayerPlay(playerId);
 
-        List<Card> playerHand = player.getHand();
-        final int cardIndex = playerHand.indexOf(card);
-        if (cardIndex == -1)
-            throw new PlayerMoveException("Player does not have in hand: " + card);
+        CardSet playerHand = player.getHand();
+        if (!playerHand.contains(card))
+            throw new PlayerMoveException(CARD_NOT_IN_HAND, "Player does not have in hand: " + card);
 
-        List<Action> actions = new LinkedList<>();
+        if ((effectMask() & CardSet.bit(card)) == 0)
+            throw new PlayerMoveException(CARD_NOT_PLAYABLE, "Illegal card to play.");
+        if (gameEffect != null)
+            nextColor = null;
+        if (!cardManager.playCard(card, nextColor))
+            throw new PlayerMoveException(CARD_NOT_PLAYABLE, "Illegal card to play.");
 
-        if (gameEffect == null) {
-            if (!cardManager.playCard(card, nextColor))
-                throw new PlayerMoveException("Illegal card to play");
-            switch (card.type()) {
-                case ACE -> gameEffect = new SkipEffect();
-                case SEVEN -> gameEffect = new DrawEffect(2);
+        switch (gameEffect) {
+            case DrawEffect(int count) -> gameEffect = new DrawEffect(count + 2);
+            case SkipEffect ignore -> {
             }
-            actions.add(new PlayCardAction(player, card, nextColor));
-        } else {
-            switch (gameEffect) {
-                case DrawEffect(int count) -> {
-                    if (card.type() != CardType.SEVEN)
-                        throw new PlayerMoveException("Illegal card to play.");
-                    if (!cardManager.playCard(card, null))
-                        throw new PlayerMoveException("Illegal card to play.");
-                    gameEffect = new DrawEffect(count + 2);
-                    actions.add(new PlayCardAction(player, card));
-                }
-                case SkipEffect ignore -> {
-                    if (card.type() != CardType.ACE)
-                        throw new PlayerMoveException("Illegal card to play.");
-                    if (!cardManager.playCard(card, null))
-                        throw new PlayerMoveException("Illegal card to play.");
-                    actions.add(new PlayCardAction(player, card));
+            case null -> {
+                switch (card.type()) {
+                    case ACE -> gameEffect = new SkipEffect();
+                    case SEVEN -> gameEffect = new DrawEffect(2);
                 }
             }
         }
-        actions.forEach(playerManager::distributeActionToAll);
+        playerManager.distributeActionToAll(new PlayCardAction(player, card, nextColor));
 
-        playerHand.remove(cardIndex);
+        playerHand.remove(card);
         if (playerHand.isEmpty() && !playerManager.playerWin(player)) {
             return;
         }
@@ -87,11 +83,10 @@ class GameCore {
     }
 
     public void performDraw(final String playerId) throws MauEngineBaseException {
-        validatePlayerPlay(playerId);
-        var player = playerManager.getPlayer(playerId);
+        var player = validatePlayerPlay(playerId);
 
         if (gameEffect != null)
-            throw new PlayerMoveException("Cannot draw when when game effect is active.");
+            throw new PlayerMoveException(DRAW_NOT_ALLOWED, "Cannot draw when when game effect is active.");
 
         var drawnCard = cardManager.draw();
         player.getHand().add(drawnCard);
@@ -102,8 +97,7 @@ class GameCore {
     }
 
     public void performPass(final String playerId) throws MauEngineBaseException {
-        validatePlayerPlay(playerId);
-        var player = playerManager.getPlayer(playerId);
+        var player = validatePlayerPlay(playerId);
 
         switch (gameEffect) {
             case DrawEffect(int count) -> {
@@ -116,13 +110,21 @@ class GameCore {
                 player.trigger(new DrawAction(drawnCards));
             }
             case SkipEffect ignore -> playerManager.distributeActionToAll(new PassAction(player));
-            case null -> throw new PlayerMoveException("cannot pass without active game effect");
+            case null -> throw new PlayerMoveException(PASS_NOT_ALLOWED, "cannot pass without active game effect");
         }
         gameEffect = null;
         playerManager.shiftPlayer();
     }
 
 
+    public void perform(final String playerId, Move move) throws MauEngineBaseException {
+        switch (move) {
+            case Move.PlayCard(Card card, Color nextColor) -> performPlayCard(playerId, card, nextColor);
+            case Move.Draw ignored -> performDraw(playerId);
+            case Move.Pass ignored -> performPass(playerId);
+        }
+    }
+
     public Card start() throws GameException {
         if (stage.get() != LOBBY)
             throw new GameException("The game has already started.");
@@ -142,15 +144,109 @@ class GameCore {
         return cardManager.startPile();
     }
 
-    private void validatePlayerPlay(String playerId) throws MauEngineBaseException {
+    /**
+     * Computes legal moves of the player, result for the player on turn is cached until the next shift.
+     */
+    public LegalMoves legalMoves(Player player) {
+        if (stage.get() != RUNNING || player != playerManager.currentPlayer())
+            return LegalMoves.NONE;
+        var turn = playerManager.getTurn();
+        var cached = turnMoves;
+        if (cached != null && cached.turn() == turn)
+            return cached.moves();
+
+        var effect = gameEffect;
+        var moves = new LegalMoves(
+                playableMask(player),
+                effect == null && cardManager.deckSize() > 0,
+                canPass(effect)
+        );
+        turnMoves = new TurnMoves(turn, moves);
+        return moves;
+    }
+
+    /**
+     * Collects what the player knows about the game, opponents are listed in playing order after the player.
+     */
+    InformationSet informationSet(Player player) {
+        var players = playerManager.getPlayers();
+        int seat = players.indexOf(player);
+        int[] opponentHandSizes = new int[players.size() - 1];
+        for (int i = 1; i < players.size(); i++)
+            opponentHandSizes[i - 1] = players.get((seat + i) % players.size()).getHand().size();
+        return new InformationSet(
+                player.getHand().bits(),
+                cardManager.peekPile(),
+                cardManager.requestedColor(),
+                gameEffect,
+                legalMoves(player),
+                opponentHandSizes,
+                cardManager.deckSize(),
+                cardManager.returnedCards()
+        );
+    }
+
+    /**
+     * @return mask of cards from player's hand which can be played right now
+     */
+    int playableMask(Player player) {
+        return player.getHand().bits() & effectMask() & cardManager.playableMask();
+    }
+
+    /**
+     * Passing under {@link DrawEffect} draws the penalty, which fails in {@link #performPass} when the deck is short.
+     */
+    private boolean canPass(GameEffect effect) {
+        return switch (effect) {
+            case DrawEffect(int count) -> cardManager.deckSize() >= count;
+            case SkipEffect ignored -> true;
+            case null -> false;
+        };
+    }
+
+    private int effectMask() {
+        var effect = gameEffect;
+        return effect == null ? CardSet.ALL : effect.playableMask();
+    }
+
+    private Player validatePlayerPlay(String playerId) throws MauEngineBaseException {
         if (stage.get() != RUNNING) {
             throw new GameException("The game not running.");
         }
-        if (!playerId.equals(playerManager.currentPlayer().getPlayerId())) {
-            throw new PlayerMoveException("Not " + playerId + "'s turn.");
+        var currentPlayer = playerManager.currentPlayer();
+        var player = playerManager.getPlayer(playerId);
+        if (player != currentPlayer) {
+            throw new PlayerMoveException(NOT_ON_TURN, "Not " + playerId + "'s turn.");
+        }
+        return player;
+    }
+
+    CardManager getCardManager() {
+        return cardManager;
+    }
+
+    void writeCheckpoint(ByteBuffer out) {
+        out.put((byte) stage.get().ordinal());
+        switch (gameEffect) {
+            case null -> out.put(NO_EFFECT);
+            case DrawEffect(int count) -> {
+                out.put(DRAW_EFFECT);
+                putVarInt(out, count);
+            }
+            case SkipEffect ignored -> out.put(SKIP_EFFECT);
         }
     }
 
+    void readCheckpoint(ByteBuffer in) {
+        stage.set(Stage.values()[in.get()]);
+        gameEffect = switch (in.get()) {
+            case NO_EFFECT -> null;
+            case DRAW_EFFECT -> new DrawEffect(getVarInt(in));
+            case SKIP_EFFECT -> new SkipEffect();
+            default -> throw new IllegalArgumentException("Unknown game effect in checkpoint.");
+        };
+    }
+
     public int getDeckSize() {
         return cardManager.deckSize();
     }
@@ -162,4 +258,7 @@ class GameCore {
     public Card getPileCard() {
         return cardManager.peekPile();
     }
+
+    private record TurnMoves(int turn, LegalMoves moves) {
+    }
 }
@@ -0,0 +1,26 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.game.action.Action;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Receives all actions produced for the player by a single game command at once, so a whole move can be written to
+ * the transport as one frame.
+ */
+@FunctionalInterface
+public interface GameEventBatchListener extends BiConsumer<Player, List<Action>> {
+
+    /**
+     * Receives the batch with sequence numbers of its actions, which a reconnecting client passes to
+     * {@link Game#catchUp}. Delegates to {@link #accept(Object, Object)} by default.
+     */
+    default void acceptSequenced(Player player, List<SequencedAction> actions) {
+        List<Action> plain = new ArrayList<>(actions.size());
+        for (int i = 0; i < actions.size(); i++)
+            plain.add(actions.get(i).action());
+        accept(player, plain);
+    }
+}
@@ -6,4 +6,12 @@ import java.util.function.BiConsumer;
 
 @FunctionalInterface
 public interface GameEventListener extends BiConsumer<Player, Action> {
+
+    /**
+     * Receives the action with its per-game sequence number, which a reconnecting client passes to
+     * {@link Game#catchUp}. Delegates to {@link #accept(Object, Object)} by default.
+     */
+    default void accept(Player player, Action action, long sequence) {
+        accept(player, action);
+    }
 }
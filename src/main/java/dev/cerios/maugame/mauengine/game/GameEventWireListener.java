@@ -0,0 +1,20 @@
+package dev.cerios.maugame.mauengine.game;
+
+import java.nio.ByteBuffer;
+import java.util.function.BiConsumer;
+
+/**
+ * Receives actions already encoded by {@link dev.cerios.maugame.mauengine.codec.ActionCodec}. Actions broadcast to
+ * several players are encoded once and every listener gets a read-only view of the same bytes.
+ */
+@FunctionalInterface
+public interface GameEventWireListener extends BiConsumer<Player, ByteBuffer> {
+
+    /**
+     * Receives the encoded action with its per-game sequence number, which a reconnecting client passes to
+     * {@link Game#catchUp}. Delegates to {@link #accept(Object, Object)} by default.
+     */
+    default void accept(Player player, ByteBuffer action, long sequence) {
+        accept(player, action);
+    }
+}
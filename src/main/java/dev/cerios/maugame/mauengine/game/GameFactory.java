@@ -2,24 +2,181 @@ package dev.cerios.maugame.mauengine.game;
 
 import dev.cerios.maugame.mauengine.card.CardComparer;
 import dev.cerios.maugame.mauengine.card.CardManager;
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import dev.cerios.maugame.mauengine.journal.GameJournal;
+import dev.cerios.maugame.mauengine.journal.JournalEntry;
+import dev.cerios.maugame.mauengine.metrics.EngineMetrics;
+import dev.cerios.maugame.mauengine.metrics.EngineMonitor;
+import dev.cerios.maugame.mauengine.timer.HashedWheelTurnTimer;
+import dev.cerios.maugame.mauengine.timer.TurnTimer;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Random;
 import java.util.UUID;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 @RequiredArgsConstructor
 public class GameFactory {
     private final Random random;
+    private final GameOptions options;
+    private final TurnTimer turnTimer;
+    @Getter
+    private final DispatchStats dispatchStats = new DispatchStats();
 
+    public GameFactory(Random random) {
+        this(random, GameOptions.defaults());
+    }
+
+    public GameFactory(Random random, GameOptions options) {
+        this(random, options, HashedWheelTurnTimer.getDefault());
+    }
+
+    /**
+     * @param random seeds the generator owned by the created game, it is not used by the game afterwards
+     */
     public Game createGame(Random random, int minPlayers, int maxPlayers) {
-        var gameId = UUID.randomUUID();
+        var game = assemble(UUID.randomUUID(), new GameRandom(random.nextLong()), minPlayers, maxPlayers);
+        game.recordInitialState();
+        return game;
+    }
+
+    /**
+     * Registers {@link dev.cerios.maugame.mauengine.metrics.EngineMXBean} of games created by this factory in the
+     * platform MBean server, unregister it by the returned name when the factory is discarded.
+     *
+     * @param name value of the {@code name} key, distinguishes factories of the same JVM
+     * @throws IllegalStateException when {@link GameOptions#metrics()} is not {@link EngineMetrics}
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        if (!(options.metrics() instanceof EngineMetrics metrics))
+            throw new IllegalStateException("Engine MBean requires EngineMetrics to be set in GameOptions.");
+        var objectName = new ObjectName("dev.cerios.maugame:type=Engine,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new EngineMonitor(metrics, turnTimer), objectName);
+        return objectName;
+    }
+
+    /**
+     * Creates game which writes its seed and every accepted command to a new journal file, so it can be rebuilt by
+     * {@link #restore(Path, RestoredListeners)} after a restart. The journal is closed when the game finishes.
+     */
+    public Game createJournaledGame(Path journalFile, int minPlayers, int maxPlayers) throws IOException {
+        var header = new JournalEntry.Header(UUID.randomUUID(), random.nextLong(), minPlayers, maxPlayers);
+        var journal = GameJournal.create(journalFile, header);
+        var game = assemble(header.gameId(), new GameRandom(header.seed()), minPlayers, maxPlayers);
+        game.recordInitialState();
+        game.setJournal(journal);
+        return game;
+    }
+
+    /**
+     * Rebuilds game by replaying its journal, players keep their ids and kinds of listeners. Listeners are muted during
+     * the replay, restored players should request the current state by {@link Game#sendCurrentStateTo}. The restored
+     * game keeps appending to the same journal.
+     *
+     * @param listeners provides listener for every restored player by username
+     */
+    public Game restore(Path journalFile, RestoredListeners listeners) throws IOException {
+        var recovered = GameJournal.recover(journalFile);
+        var header = (JournalEntry.Header) recovered.entries().getFirst();
+        var game = assemble(header.gameId(), new GameRandom(header.seed()), header.minPlayers(), header.maxPlayers());
+        game.recordInitialState();
+        game.setReplaying(true);
+        try {
+            for (JournalEntry entry : recovered.entries()) {
+                switch (entry) {
+                    case JournalEntry.Header ignored -> {
+                    }
+                    case JournalEntry.Register r -> game.restorePlayer(r, listeners);
+                    case JournalEntry.Remove r -> game.removePlayer(r.playerId());
+                    case JournalEntry.Start ignored -> game.start();
+                    case JournalEntry.PlayCard p -> game.playCardMove(p.playerId(), p.card(), p.nextColor());
+                    case JournalEntry.Draw d -> game.playDrawMove(d.playerId());
+                    case JournalEntry.Pass p -> game.playPassMove(p.playerId());
+                }
+            }
+        } catch (MauEngineBaseException e) {
+            recovered.journal().close();
+            throw new IOException("Journal " + journalFile + " does not replay.", e);
+        } catch (RuntimeException e) {
+            recovered.journal().close();
+            throw e;
+        }
+        game.setReplaying(false);
+        if (game.getStage() == Stage.FINISH)
+            recovered.journal().close();
+        else
+            game.setJournal(recovered.journal());
+        return game;
+    }
+
+    /**
+     * Restores game from {@link Game#checkpoint()}, including turn timers with their remaining time. Players keep
+     * their ids and kinds of listeners and should request the current state by {@link Game#sendCurrentStateTo}.
+     *
+     * @param listeners provides listener for every restored player by username
+     * @throws IllegalArgumentException when the checkpoint is malformed or of unsupported version
+     */
+    public Game restoreCheckpoint(byte[] checkpoint, RestoredListeners listeners) {
+        var in = ByteBuffer.wrap(checkpoint);
+        var header = GameCheckpoint.readHeader(in);
+        try {
+            // seeded by the checkpoint
+            var random = new GameRandom(0);
+            var cardManager = CardManager.readCheckpoint(in, random, new CardComparer());
+            var game = assemble(header.gameId(), random, header.minPlayers(), header.maxPlayers(), cardManager);
+            game.restoreCheckpoint(in, listeners);
+            return game;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated checkpoint.", e);
+        }
+    }
+
+    private Game assemble(UUID gameId, GameRandom random, int minPlayers, int maxPlayers) {
+        return assemble(gameId, random, minPlayers, maxPlayers, CardManager.create(random, new CardComparer()));
+    }
+
+    private Game assemble(UUID gameId, GameRandom random, int minPlayers, int maxPlayers, CardManager cardManager) {
         var stage = new AtomicReference<>(Stage.LOBBY);
-        var cardManager = CardManager.create(random, new CardComparer());
-        PlayerManager playerManager = new PlayerManager(gameId, random, minPlayers, maxPlayers, stage, cardManager);
+        PlayerManager playerManager = new PlayerManager(
+                gameId, random, minPlayers, maxPlayers, stage, cardManager, turnTimer
+        );
         GameCore core = new GameCore(cardManager, playerManager, stage);
-        return new Game(gameId, core, playerManager);
+        if (options.attachLegalMoves())
+            playerManager.setLegalMovesProvider(core::legalMoves);
+        var game = new Game(gameId, core, playerManager, new ReentrantReadWriteLock());
+        var meter = new CommandMeter(options.metrics(), gameId, playerManager::slotOf);
+        game.setMeter(meter);
+        playerManager.setMeter(meter);
+        playerManager.setTimeoutHandler(game::onTurnTimeout);
+        playerManager.setEventDispatcher(new EventDispatcher(
+                options.dispatchMode(), options.outboundQueueCapacity(), dispatchStats, game::resync
+        ));
+        playerManager.setActionLog(new ActionLog(options.actionLogCapacity()));
+        game.setTakeoverStrategy(options.takeoverStrategy());
+        return game;
+    }
+
+    /**
+     * Creates game running in mailbox mode, see {@link MailboxGame}.
+     */
+    public MailboxGame createMailboxGame(Random random, int minPlayers, int maxPlayers) {
+        var game = createGame(random, minPlayers, maxPlayers);
+        var mailboxGame = new MailboxGame(game, new Mailbox("game-" + game.getUuid()));
+        game.getPlayerManager().setTimeoutHandler(mailboxGame::onTurnTimeout);
+        return mailboxGame;
+    }
+
+    public MailboxGame createMailboxGame(int minPlayers, int maxPlayers) {
+        return createMailboxGame(random, minPlayers, maxPlayers);
     }
 
     public Game createGame(int minPlayers, int maxPlayers) {
@@ -0,0 +1,32 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.bot.Strategy;
+import dev.cerios.maugame.mauengine.metrics.MetricsSink;
+import lombok.With;
+
+/**
+ * Settings applied by {@link GameFactory} to every created game.
+ *
+ * @param attachLegalMoves      whether {@link dev.cerios.maugame.mauengine.game.action.PlayerShiftAction} sent to
+ *                              the player on turn carries their {@link LegalMoves}
+ * @param dispatchMode          how actions are delivered to listeners
+ * @param outboundQueueCapacity capacity of per-player queue in {@link DispatchMode#ASYNC}
+ * @param actionLogCapacity     number of recent deliveries kept for {@link Game#catchUp}
+ * @param takeoverStrategy      plays for players who timed out or disconnected, until they reconnect, see
+ *                              {@link Game#disconnectPlayer}; {@code null} removes timed out players from the game
+ * @param metrics               receives command latencies and engine counters, {@link MetricsSink#NONE} disables
+ *                              measuring
+ */
+@With
+public record GameOptions(
+        boolean attachLegalMoves,
+        DispatchMode dispatchMode,
+        int outboundQueueCapacity,
+        int actionLogCapacity,
+        Strategy takeoverStrategy,
+        MetricsSink metrics
+) {
+    public static GameOptions defaults() {
+        return new GameOptions(false, DispatchMode.SYNC, 1024, 256, null, MetricsSink.NONE);
+    }
+}
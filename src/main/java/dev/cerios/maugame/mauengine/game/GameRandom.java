@@ -0,0 +1,40 @@
+package dev.cerios.maugame.mauengine.game;
+
+import java.util.Random;
+
+/**
+ * Random generator owned by a single game. Produces the same sequence as {@link Random} with the same seed, so
+ * journals written with plain generators keep replaying, and additionally exposes its state, so a checkpoint can be
+ * taken without disturbing the sequence. Not thread-safe, used under the owning game's lock.
+ */
+final class GameRandom extends Random {
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    // assigned by the super constructor through setSeed, must have no initializer
+    private long state;
+
+    GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    /**
+     * @return seed which continues the current sequence when passed to {@link #setSeed}
+     */
+    long currentSeed() {
+        return state ^ MULTIPLIER;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+}
@@ -0,0 +1,168 @@
+package dev.cerios.maugame.mauengine.game;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Owns games created through it. Games are indexed by their UUID and games in {@link Stage#LOBBY} with free seats are
+ * additionally queued by free capacity, so finding a game with room does not scan all games. A game moved to another
+ * queue leaves a stale slot behind, stale slots are dropped once they reach the head of their queue.
+ * Games are deregistered automatically once they reach {@link Stage#FINISH}, abandoned games are deregistered by
+ * {@link #removeGame}. Deregistered games are discarded, so they are no longer reported to the metrics sink.
+ */
+public class GameRegistry {
+    private final GameFactory gameFactory;
+    private final Map<UUID, Entry> games = new ConcurrentHashMap<>();
+    /**
+     * index is free capacity, last queue also holds games with even more free seats
+     */
+    private final Queue<Slot>[] lobbyByCapacity;
+    private final AtomicInteger lobbySize = new AtomicInteger();
+
+    public GameRegistry(GameFactory gameFactory) {
+        this(gameFactory, 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public GameRegistry(GameFactory gameFactory, int maxIndexedCapacity) {
+        if (maxIndexedCapacity < 1)
+            throw new IllegalArgumentException("Max indexed capacity must be positive.");
+        this.gameFactory = gameFactory;
+        this.lobbyByCapacity = new Queue[maxIndexedCapacity + 1];
+        for (int i = 0; i < lobbyByCapacity.length; i++)
+            lobbyByCapacity[i] = new ConcurrentLinkedQueue<>();
+    }
+
+    public Game createGame(int minPlayers, int maxPlayers) {
+        return register(gameFactory.createGame(minPlayers, maxPlayers));
+    }
+
+    public Game createGame() {
+        return register(gameFactory.createGame());
+    }
+
+    public Optional<Game> getGame(UUID gameId) {
+        return Optional.ofNullable(games.get(gameId)).map(Entry::getGame);
+    }
+
+    /**
+     * Finds a lobby game with at least {@code seats} free seats, the one with the fewest free seats and among them the
+     * longest waiting. Games with more free seats than the max indexed capacity share the last queue, where the
+     * longest waiting one with enough room is taken. The result is only a hint: games changing concurrently might be
+     * skipped or reported with outdated capacity, and the game might get filled by a concurrent registration before
+     * the caller joins it.
+     */
+    public Optional<Game> findLobbyGame(int seats) {
+        int last = lobbyByCapacity.length - 1;
+        for (int capacity = Math.max(seats, 1); capacity < last; capacity++) {
+            var slot = firstCurrent(lobbyByCapacity[capacity]);
+            if (slot != null)
+                return Optional.of(slot.entry().getGame());
+        }
+        firstCurrent(lobbyByCapacity[last]);
+        for (Slot slot : lobbyByCapacity[last]) {
+            if (slot.isCurrent() && slot.entry().getGame().getFreeCapacity() >= seats)
+                return Optional.of(slot.entry().getGame());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deregisters the game, e.g. a lobby game abandoned by its players. The game itself is left intact.
+     *
+     * @return {@code false} when no such game is registered
+     */
+    public boolean removeGame(UUID gameId) {
+        var entry = games.remove(gameId);
+        if (entry == null)
+            return false;
+        // no change notifications once discarded, so the entry can be unindexed outside of the game's lock
+        entry.getGame().discard();
+        reindex(entry, Entry.NOT_INDEXED);
+        return true;
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public int lobbySize() {
+        return lobbySize.get();
+    }
+
+    private Game register(Game game) {
+        var entry = new Entry(game);
+        games.put(game.getUuid(), entry);
+        game.setChangeListener(this::onGameChanged);
+        onGameChanged(game, game.getStage(), game.getFreeCapacity());
+        return game;
+    }
+
+    private void onGameChanged(Game game, Stage stage, int freeCapacity) {
+        var entry = games.get(game.getUuid());
+        if (entry == null)
+            return;
+        int capacity = stage == Stage.LOBBY && freeCapacity > 0
+                ? Math.min(freeCapacity, lobbyByCapacity.length - 1)
+                : Entry.NOT_INDEXED;
+        reindex(entry, capacity);
+        if (stage == Stage.FINISH && games.remove(game.getUuid()) != null)
+            game.discard();
+    }
+
+    private void reindex(Entry entry, int capacity) {
+        int previous = entry.indexedCapacity;
+        if (previous == capacity)
+            return;
+        if (previous == Entry.NOT_INDEXED)
+            lobbySize.incrementAndGet();
+        else if (capacity == Entry.NOT_INDEXED)
+            lobbySize.decrementAndGet();
+        // invalidates the slot in the previous queue
+        int stamp = ++entry.stamp;
+        entry.indexedCapacity = capacity;
+        if (previous != Entry.NOT_INDEXED)
+            firstCurrent(lobbyByCapacity[previous]);
+        if (capacity != Entry.NOT_INDEXED) {
+            lobbyByCapacity[capacity].add(new Slot(entry, stamp));
+            firstCurrent(lobbyByCapacity[capacity]);
+        }
+    }
+
+    /**
+     * Drops stale slots from the head of the queue.
+     *
+     * @return first slot which is current, {@code null} if none
+     */
+    private static Slot firstCurrent(Queue<Slot> queue) {
+        Slot slot;
+        while ((slot = queue.peek()) != null && !slot.isCurrent())
+            queue.remove(slot);
+        return slot;
+    }
+
+    @RequiredArgsConstructor
+    private static final class Entry {
+        private static final int NOT_INDEXED = -1;
+
+        @Getter
+        private final Game game;
+        // updated under the game's write lock only, or after the game was discarded
+        private volatile int indexedCapacity = NOT_INDEXED;
+        /**
+         * incremented whenever the game moves between queues, only the slot with the latest stamp is current
+         */
+        private volatile int stamp = 0;
+    }
+
+    private record Slot(Entry entry, int stamp) {
+        boolean isCurrent() {
+            return entry.stamp == stamp;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.bot.Strategy;
+import dev.cerios.maugame.mauengine.card.CardComparer;
+import dev.cerios.maugame.mauengine.card.CardManager;
+import dev.cerios.maugame.mauengine.exception.CardException;
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Plays complete games between strategies without turn timers, locking and action delivery, for rule balancing,
+ * bot evaluation and regression runs. Games run on {@link GameCore} directly and are spread over a
+ * {@link ForkJoinPool} in fixed chunks. Every chunk owns a random generator derived from the run seed and its
+ * position, so the outcome of a run depends on the seed only, not on the pool or scheduling.
+ */
+public final class GameSimulator {
+    private static final int CHUNK_SIZE = 256;
+    private static final GameEventListener NO_LISTENER = (player, action) -> {
+    };
+
+    private final ForkJoinPool pool;
+    private final int maxTurns;
+
+    public GameSimulator() {
+        this(ForkJoinPool.commonPool(), 10_000);
+    }
+
+    /**
+     * @param maxTurns turns after which a game is considered stalled and aborted
+     */
+    public GameSimulator(ForkJoinPool pool, int maxTurns) {
+        if (maxTurns < 1)
+            throw new IllegalArgumentException("Max turns must be positive.");
+        this.pool = pool;
+        this.maxTurns = maxTurns;
+    }
+
+    /**
+     * Plays the games, the first strategy plays seat 0, the second seat 1 and so on. The starting seat is drawn at
+     * random for every game.
+     *
+     * @param strategies strategy per seat, between 2 and 7 seats, so that every player gets the initial hand
+     */
+    public SimulationResult run(List<? extends Strategy> strategies, long games, long seed) {
+        if (strategies.size() < 2 || strategies.size() > 7)
+            throw new IllegalArgumentException("Simulation needs 2 to 7 strategies.");
+        if (games < 0)
+            throw new IllegalArgumentException("Number of games must not be negative.");
+        var seats = List.<Strategy>copyOf(strategies);
+
+        long started = System.nanoTime();
+        var tally = pool.invoke(new Chunk(seats, seed, 0, games));
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        List<SimulationResult.Seat> seatResults = new ArrayList<>(seats.size());
+        for (int seat = 0; seat < seats.size(); seat++) {
+            seatResults.add(new SimulationResult.Seat(
+                    seats.get(seat),
+                    tally.wins[seat],
+                    tally.losses[seat],
+                    tally.finished == 0 ? 0 : (double) tally.placeSums[seat] / tally.finished
+            ));
+        }
+        return new SimulationResult(
+                games, tally.finished, tally.stalled, tally.failed, tally.turns, elapsed, List.copyOf(seatResults)
+        );
+    }
+
+    private final class Chunk extends RecursiveTask<Tally> {
+        private final List<Strategy> strategies;
+        private final long seed;
+        private final long from;
+        private final long to;
+
+        Chunk(List<Strategy> strategies, long seed, long from, long to) {
+            this.strategies = strategies;
+            this.seed = seed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from > CHUNK_SIZE) {
+                // split on chunk boundaries, so seeding does not depend on the depth of the split
+                long chunks = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                long middle = from + chunks / 2 * CHUNK_SIZE;
+                var left = new Chunk(strategies, seed, from, middle);
+                left.fork();
+                var right = new Chunk(strategies, seed, middle, to).compute();
+                return left.join().add(right);
+            }
+            var tally = new Tally(strategies.size());
+            var random = new Random(seed ^ mix(from / CHUNK_SIZE));
+            for (long i = from; i < to; i++)
+                play(strategies, random, tally);
+            return tally;
+        }
+    }
+
+    private void play(List<Strategy> strategies, Random random, Tally tally) {
+        var stage = new AtomicReference<>(Stage.LOBBY);
+        var cardManager = CardManager.create(random, new CardComparer());
+        var playerManager = new PlayerManager(
+                new UUID(random.nextLong(), random.nextLong()),
+                random,
+                strategies.size(),
+                strategies.size(),
+                stage,
+                cardManager,
+                null // headless manager schedules no timeouts
+        );
+        playerManager.setHeadless(true);
+        var core = new GameCore(cardManager, playerManager, stage);
+
+        List<Player> seats = new ArrayList<>(strategies.size());
+        int turns = 0;
+        try {
+            for (int seat = 0; seat < strategies.size(); seat++) {
+                var name = String.valueOf(seat);
+                seats.add(playerManager.registerPlayer(name, name, NO_LISTENER));
+            }
+            core.start();
+            playerManager.initializePlayer();
+
+            while (stage.get() == Stage.RUNNING) {
+                if (turns == maxTurns) {
+                    tally.stalled++;
+                    return;
+                }
+                var player = playerManager.currentPlayer();
+                var informationSet = core.informationSet(player);
+                var legalMoves = informationSet.legalMoves();
+                if (legalMoves.playableMask() == 0 && !legalMoves.canDraw() && !legalMoves.canPass()) {
+                    tally.stalled++;
+                    return;
+                }
+                var move = strategies.get(player.getSlot()).chooseMove(informationSet, random);
+                core.perform(player.getPlayerId(), move);
+                turns++;
+            }
+        } catch (CardException e) {
+            // deck and pile cannot cover the drawing penalty
+            tally.stalled++;
+            return;
+        } catch (MauEngineBaseException e) {
+            tally.failed++;
+            return;
+        } finally {
+            tally.turns += turns;
+        }
+
+        tally.finished++;
+        var rank = playerManager.getPlayerRank();
+        for (int seat = 0; seat < seats.size(); seat++) {
+            int place = rank.indexOf(seats.get(seat).getUsername());
+            tally.placeSums[seat] += place + 1;
+            if (place == 0)
+                tally.wins[seat]++;
+            if (place == rank.size() - 1)
+                tally.losses[seat]++;
+        }
+    }
+
+    private static long mix(long value) {
+        // SplitMix64 finalizer, spreads consecutive chunk indexes over the whole seed space
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+
+    private static final class Tally {
+        private long finished;
+        private long stalled;
+        private long failed;
+        private long turns;
+        private final long[] wins;
+        private final long[] losses;
+        private final long[] placeSums;
+
+        Tally(int seats) {
+            wins = new long[seats];
+            losses = new long[seats];
+            placeSums = new long[seats];
+        }
+
+        Tally add(Tally other) {
+            finished += other.finished;
+            stalled += other.stalled;
+            failed += other.failed;
+            turns += other.turns;
+            for (int i = 0; i < wins.length; i++) {
+                wins[i] += other.wins[i];
+                losses[i] += other.losses[i];
+                placeSums[i] += other.placeSums[i];
+            }
+            return this;
+        }
+    }
+}
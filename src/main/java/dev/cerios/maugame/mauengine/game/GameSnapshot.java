@@ -0,0 +1,155 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+import dev.cerios.maugame.mauengine.game.effect.GameEffect;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable view of a game published at the end of every mutating command. Readers get it with a single volatile
+ * load and never touch the game lock. Hands are kept as card masks in the order of {@link #players()}, collections
+ * are materialized only when requested.
+ *
+ * @param playersById   {@link #players()} keyed by their ids
+ * @param hands         never modified, {@link #hands()} returns a copy
+ * @param currentPlayer {@code null} until the first player is chosen
+ * @param expireAtMs    turn deadline of the current player, {@code -1} when unknown
+ */
+record GameSnapshot(
+        long version,
+        Stage stage,
+        int freeCapacity,
+        boolean hasEnoughPlayers,
+        List<Player> players,
+        Map<String, Player> playersById,
+        int[] hands,
+        Card pileCard,
+        int deckSize,
+        Player currentPlayer,
+        long expireAtMs,
+        GameEffect gameEffect,
+        List<String> playerRank,
+        int rankModCount,
+        long lastSequence
+) {
+
+    static GameSnapshot capture(GameCore core, PlayerManager playerManager, long version, GameSnapshot previous) {
+        var livePlayers = playerManager.getPlayers();
+        boolean samePlayers = previous != null && previous.players().equals(livePlayers);
+        var players = samePlayers ? previous.players() : List.copyOf(livePlayers);
+        var playersById = samePlayers ? previous.playersById() : index(players);
+        var hands = new int[players.size()];
+        for (int i = 0; i < hands.length; i++)
+            hands[i] = players.get(i).getHand().bits();
+
+        int rankModCount = playerManager.getRankModCount();
+        var playerRank = previous != null && previous.rankModCount() == rankModCount
+                ? previous.playerRank()
+                : List.copyOf(playerManager.getPlayerRank());
+
+        var currentPlayer = playerManager.isInitialized() ? playerManager.currentPlayer() : null;
+        return new GameSnapshot(
+                version,
+                core.getStage(),
+                playerManager.getFreeCapacity(),
+                playerManager.hasEnoughPlayers(),
+                players,
+                playersById,
+                hands,
+                core.getPileCard(),
+                core.getDeckSize(),
+                currentPlayer,
+                currentPlayer == null ? -1 : playerManager.getLastExpire(currentPlayer.getPlayerId()),
+                core.getGameEffect(),
+                playerRank,
+                rankModCount,
+                playerManager.getActionLog().lastSequence()
+        );
+    }
+
+    private static Map<String, Player> index(List<Player> players) {
+        Map<String, Player> byId = HashMap.newHashMap(players.size());
+        for (int i = 0; i < players.size(); i++)
+            byId.put(players.get(i).getPlayerId(), players.get(i));
+        return Map.copyOf(byId);
+    }
+
+    Player player(String playerId) {
+        return playersById.get(playerId);
+    }
+
+    @Override
+    public int[] hands() {
+        return hands.clone();
+    }
+
+    List<Card> hand(int index) {
+        return CardSet.toList(hands[index]);
+    }
+
+    int handSize(int index) {
+        return Integer.bitCount(hands[index]);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameSnapshot other
+                && version == other.version
+                && stage == other.stage
+                && freeCapacity == other.freeCapacity
+                && hasEnoughPlayers == other.hasEnoughPlayers
+                && players.equals(other.players)
+                && Arrays.equals(hands, other.hands)
+                && Objects.equals(pileCard, other.pileCard)
+                && deckSize == other.deckSize
+                && currentPlayer == other.currentPlayer
+                && expireAtMs == other.expireAtMs
+                && Objects.equals(gameEffect, other.gameEffect)
+                && playerRank.equals(other.playerRank)
+                && rankModCount == other.rankModCount
+                && lastSequence == other.lastSequence;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(version, stage, players, Arrays.hashCode(hands), pileCard, deckSize, lastSequence);
+    }
+
+    @Override
+    public String toString() {
+        return "GameSnapshot{" +
+                "version=" + version +
+                ", stage=" + stage +
+                ", players=" + players +
+                ", hands=" + Arrays.toString(hands) +
+                ", pileCard=" + pileCard +
+                ", deckSize=" + deckSize +
+                ", currentPlayer=" + currentPlayer +
+                ", gameEffect=" + gameEffect +
+                ", lastSequence=" + lastSequence +
+                '}';
+    }
+
+    GameState toGameState() {
+        if (currentPlayer == null)
+            throw new RuntimeException("Player manager has not been initialized yet.");
+        Map<String, List<Card>> playerHands = new HashMap<>();
+        for (int i = 0; i < players.size(); i++)
+            playerHands.put(players.get(i).getUsername(), hand(i));
+        return new GameState(
+                playerRank,
+                playerHands,
+                pileCard,
+                deckSize,
+                stage,
+                currentPlayer.getUsername(),
+                gameEffect,
+                version
+        );
+    }
+}
@@ -14,8 +14,24 @@ public record GameState(
         int deckSize,
         Stage stage,
         String currentPlayer,
-        GameEffect gameEffect
+        GameEffect gameEffect,
+        long version
 ) {
+    /**
+     * State without a version, as created before versioning was introduced.
+     */
+    public GameState(
+            List<String> playerRank,
+            Map<String, List<Card>> playerHands,
+            Card topPile,
+            int deckSize,
+            Stage stage,
+            String currentPlayer,
+            GameEffect gameEffect
+    ) {
+        this(playerRank, playerHands, topPile, deckSize, stage, currentPlayer, gameEffect, 0);
+    }
+
     @Override
     public String toString() {
         var ph = playerHands.entrySet()
@@ -31,6 +47,7 @@ public record GameState(
                 ", stage=" + stage +
                 ", currentPlayer='" + currentPlayer + '\'' +
                 ", gameEffect=" + gameEffect +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,56 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.game.effect.GameEffect;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Changes of a game state between two versions. Only fields listed in {@link #changes()} carry a value, the others
+ * are {@code null}, or {@code -1} for the deck size. Removed players should be applied before changed hands, a player
+ * may leave and another one with the same username join in between.
+ *
+ * @param sinceVersion  version the delta starts from, {@code 0} for the full state which replaces everything known,
+ *                      returned also when the requested version is too old
+ * @param version       version the delta leads to, to be passed to the next request
+ * @param changedHands  hands touched since {@code sinceVersion}, keyed by username
+ * @param removedPlayers usernames of players removed since {@code sinceVersion}
+ */
+public record GameStateDelta(
+        long sinceVersion,
+        long version,
+        Set<Field> changes,
+        Map<String, List<Card>> changedHands,
+        List<String> removedPlayers,
+        List<String> playerRank,
+        Card topPile,
+        int deckSize,
+        Stage stage,
+        String currentPlayer,
+        GameEffect gameEffect
+) {
+    public enum Field {
+        HANDS,
+        REMOVED_PLAYERS,
+        PLAYER_RANK,
+        TOP_PILE,
+        DECK_SIZE,
+        STAGE,
+        CURRENT_PLAYER,
+        GAME_EFFECT
+    }
+
+    static GameStateDelta empty(long version) {
+        return new GameStateDelta(version, version, Set.of(), Map.of(), List.of(), null, null, -1, null, null, null);
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    public boolean changed(Field field) {
+        return changes.contains(field);
+    }
+}
@@ -0,0 +1,25 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+
+import java.util.List;
+
+/**
+ * Moves a player is allowed to make in the current turn.
+ *
+ * @param playableMask {@link CardSet} mask of cards from hand which can be played
+ * @param canDraw      whether draw move is allowed
+ * @param canPass      whether pass move is allowed
+ */
+public record LegalMoves(int playableMask, boolean canDraw, boolean canPass) {
+    public static final LegalMoves NONE = new LegalMoves(CardSet.EMPTY, false, false);
+
+    public List<Card> playableCards() {
+        return CardSet.toList(playableMask);
+    }
+
+    public boolean canPlay(Card card) {
+        return (playableMask & CardSet.bit(card)) != 0;
+    }
+}
@@ -0,0 +1,90 @@
+package dev.cerios.maugame.mauengine.game;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Multi-producer single-consumer task queue. Tasks run one at a time in submission order on a virtual thread,
+ * which is started on demand and exits once the queue is drained.
+ */
+@Slf4j
+class Mailbox {
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final Thread.Builder threadBuilder;
+    private final int capacity;
+
+    Mailbox(String name) {
+        this(name, Integer.MAX_VALUE);
+    }
+
+    Mailbox(String name, int capacity) {
+        if (capacity < 1)
+            throw new IllegalArgumentException("Mailbox capacity must be positive.");
+        this.threadBuilder = Thread.ofVirtual().name(name);
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return {@code false} if the task was rejected because the mailbox is full
+     */
+    boolean submit(Runnable task) {
+        if (size.incrementAndGet() > capacity) {
+            size.decrementAndGet();
+            return false;
+        }
+        enqueue(task);
+        return true;
+    }
+
+    /**
+     * Submits the task even if the mailbox is full.
+     */
+    void submitOverCapacity(Runnable task) {
+        size.incrementAndGet();
+        enqueue(task);
+    }
+
+    private void enqueue(Runnable task) {
+        tasks.add(task);
+        if (draining.compareAndSet(false, true))
+            threadBuilder.start(this::drain);
+    }
+
+    int pending() {
+        return size.get();
+    }
+
+    private void drain() {
+        // whether this thread holds the draining flag
+        boolean owner = true;
+        try {
+            while (owner) {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    size.decrementAndGet();
+                    try {
+                        task.run();
+                    } catch (Throwable e) {
+                        log.error("Mailbox task failed.", e);
+                    }
+                }
+                draining.set(false);
+                // a producer might have enqueued between the last poll and the flag reset
+                owner = !tasks.isEmpty() && draining.compareAndSet(false, true);
+            }
+        } finally {
+            if (owner) {
+                // the drainer dies, remaining tasks are handed over to a new one
+                draining.set(false);
+                if (!tasks.isEmpty() && draining.compareAndSet(false, true))
+                    threadBuilder.start(this::drain);
+            }
+        }
+    }
+}
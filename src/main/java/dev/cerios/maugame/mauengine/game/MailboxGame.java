@@ -0,0 +1,134 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.Color;
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Actor-style execution mode of {@link Game}. Every command, including turn timeouts, is enqueued onto the game's
+ * mailbox and processed sequentially by a single virtual thread, so commands never compete for the game lock.
+ * Failures are reported through the returned future, commands which do not fit into a full mailbox fail with
+ * {@link RejectedExecutionException}.
+ * <p>
+ * Read-only queries can be made directly on {@link #getGame()}.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class MailboxGame {
+    @Getter
+    private final Game game;
+    private final Mailbox mailbox;
+
+    public UUID getUuid() {
+        return game.getUuid();
+    }
+
+    public CompletableFuture<Void> playCardMove(final String playerId, Card cardToPlay) {
+        return submit(() -> {
+            game.playCardMove(playerId, cardToPlay);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> playCardMove(final String playerId, Card cardToPlay, Color nextColor) {
+        return submit(() -> {
+            game.playCardMove(playerId, cardToPlay, nextColor);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> playDrawMove(final String playerId) {
+        return submit(() -> {
+            game.playDrawMove(playerId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> playPassMove(final String playerId) {
+        return submit(() -> {
+            game.playPassMove(playerId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Player> registerPlayer(String username, final GameEventListener eventListener) {
+        return submit(() -> game.registerPlayer(username, eventListener));
+    }
+
+    public CompletableFuture<Player> registerBatchPlayer(String username, final GameEventBatchListener batchListener) {
+        return submit(() -> game.registerBatchPlayer(username, batchListener));
+    }
+
+    public CompletableFuture<Player> registerWirePlayer(String username, final GameEventWireListener wireListener) {
+        return submit(() -> game.registerWirePlayer(username, wireListener));
+    }
+
+    public CompletableFuture<Void> removePlayer(String playerId) {
+        return submit(() -> {
+            game.removePlayer(playerId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> disconnectPlayer(String playerId) {
+        return submit(() -> {
+            game.disconnectPlayer(playerId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> reconnectPlayer(String playerId) {
+        return submit(() -> {
+            game.reconnectPlayer(playerId);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> start() {
+        return submit(() -> {
+            game.start();
+            return null;
+        });
+    }
+
+    public CompletableFuture<LegalMoves> legalMoves(String playerId) {
+        return submit(() -> game.legalMoves(playerId));
+    }
+
+    /**
+     * @return number of commands waiting in the mailbox
+     */
+    public int pendingCommands() {
+        return mailbox.pending();
+    }
+
+    void onTurnTimeout(String playerId, int turn) {
+        // a dropped timeout would leave the turn without deadline
+        mailbox.submitOverCapacity(() -> game.onTurnTimeout(playerId, turn));
+    }
+
+    private <T> CompletableFuture<T> submit(Command<T> command) {
+        var result = new CompletableFuture<T>();
+        boolean submitted = mailbox.submit(() -> {
+            try {
+                result.complete(command.execute());
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (!submitted)
+            result.completeExceptionally(new RejectedExecutionException("Mailbox of game " + getUuid() + " is full."));
+        return result;
+    }
+
+    @FunctionalInterface
+    private interface Command<T> {
+        T execute() throws MauEngineBaseException;
+    }
+}
@@ -1,16 +1,23 @@
 package dev.cerios.maugame.mauengine.game;
 
-import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
 import dev.cerios.maugame.mauengine.game.action.Action;
+import dev.cerios.maugame.mauengine.journal.JournalEntry.Register.ListenerType;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 @ToString(onlyExplicitlyIncluded = true)
 public class Player {
+    /**
+     * seat number unique within the game, {@code -1} for players not seated by a game
+     */
+    @Getter
+    private final int slot;
     @Getter
     @ToString.Include
     private final String playerId;
@@ -19,18 +26,67 @@ public class Player {
     private final String username;
     @Getter
     private boolean finished = false;
+    /**
+     * whether the game's takeover strategy plays instead of the player
+     */
+    @Getter
+    private boolean botControlled = false;
     @Getter(AccessLevel.PACKAGE)
-    private final List<Card> hand = new ArrayList<>();
+    private final CardSet hand = new CardSet();
     private final GameEventListener eventListener;
+    private final GameEventBatchListener batchListener;
+    private final List<SequencedAction> pendingBatch;
+    private final Consumer<Player> batchStarted;
     private final Runnable countDown;
+    private ActionLog actionLog;
+    /**
+     * kind of listener the player registered with, kept by journals and checkpoints
+     */
+    @Getter(AccessLevel.PACKAGE)
+    private ListenerType listenerType = ListenerType.EVENT;
+    /**
+     * actions are recorded but not delivered, while the game replays its journal
+     */
+    private boolean muted;
+    /**
+     * measures deliveries, {@code null} when metrics are disabled
+     */
+    private CommandMeter meter;
 
     public Player(String playerId, String username, GameEventListener eventListener) {
-        this(playerId, username, eventListener, () -> {});
+        this(-1, playerId, username, eventListener, () -> {});
     }
 
-    Player(String playerId, String username, GameEventListener eventListener, Runnable countDown) {
+    Player(int slot, String playerId, String username, GameEventListener eventListener, Runnable countDown) {
+        this.slot = slot;
         this.playerId = playerId;
         this.eventListener = eventListener;
+        this.batchListener = null;
+        this.pendingBatch = null;
+        this.batchStarted = null;
+        this.username = username;
+        this.countDown = countDown;
+    }
+
+    /**
+     * Creates player whose actions are collected and delivered by {@link #flush()}.
+     *
+     * @param batchStarted notified when the first action of a new batch is collected
+     */
+    Player(
+            int slot,
+            String playerId,
+            String username,
+            GameEventBatchListener batchListener,
+            Consumer<Player> batchStarted,
+            Runnable countDown
+    ) {
+        this.slot = slot;
+        this.playerId = playerId;
+        this.eventListener = null;
+        this.batchListener = batchListener;
+        this.pendingBatch = new ArrayList<>();
+        this.batchStarted = batchStarted;
         this.username = username;
         this.countDown = countDown;
     }
@@ -42,7 +98,86 @@ public class Player {
         }
     }
 
+    void setBotControlled(boolean botControlled) {
+        this.botControlled = botControlled;
+    }
+
+    void setListenerType(ListenerType listenerType) {
+        this.listenerType = listenerType;
+    }
+
+    void setMuted(boolean muted) {
+        this.muted = muted;
+    }
+
+    void setActionLog(ActionLog actionLog) {
+        this.actionLog = actionLog;
+    }
+
+    void setMeter(CommandMeter meter) {
+        this.meter = meter;
+    }
+
     void trigger(Action action) {
-        eventListener.accept(this, action);
+        if (meter == null) {
+            deliver(action);
+            return;
+        }
+        long started = System.nanoTime();
+        deliver(action);
+        meter.dispatched(action, System.nanoTime() - started, batchListener == null);
+    }
+
+    private void deliver(Action action) {
+        var sequence = actionLog == null ? ActionLog.NO_SEQUENCE : actionLog.record(this, action);
+        if (batchListener == null) {
+            if (!muted)
+                eventListener.accept(this, action, sequence);
+            return;
+        }
+        if (muted)
+            return;
+        if (pendingBatch.isEmpty())
+            batchStarted.accept(this);
+        pendingBatch.add(new SequencedAction(sequence, action));
+    }
+
+    /**
+     * Delivers actions immediately without recording them, as a single batch for batch listeners.
+     *
+     * @param sequence sequence number reported with every action
+     */
+    void triggerAll(List<Action> actions, long sequence) {
+        if (batchListener == null)
+            actions.forEach(action -> eventListener.accept(this, action, sequence));
+        else
+            batchListener.acceptSequenced(this, actions.stream().map(a -> new SequencedAction(sequence, a)).toList());
+    }
+
+    /**
+     * Delivers previously recorded actions again, with their original sequence numbers.
+     */
+    void redeliver(List<SequencedAction> actions) {
+        if (batchListener == null)
+            actions.forEach(a -> eventListener.accept(this, a.action(), a.sequence()));
+        else
+            batchListener.acceptSequenced(this, List.copyOf(actions));
+    }
+
+    /**
+     * Delivers collected actions as one batch.
+     */
+    void flush() {
+        if (batchListener == null || pendingBatch.isEmpty())
+            return;
+        var batch = List.copyOf(pendingBatch);
+        pendingBatch.clear();
+        if (meter == null) {
+            batchListener.acceptSequenced(this, batch);
+            return;
+        }
+        long started = System.nanoTime();
+        batchListener.acceptSequenced(this, batch);
+        meter.flushed(System.nanoTime() - started);
     }
 }
@@ -1,22 +1,29 @@
 package dev.cerios.maugame.mauengine.game;
 
 import dev.cerios.maugame.mauengine.card.CardManager;
+import dev.cerios.maugame.mauengine.card.CardSet;
 import dev.cerios.maugame.mauengine.exception.GameException;
 import dev.cerios.maugame.mauengine.game.action.*;
+import dev.cerios.maugame.mauengine.journal.JournalEntry.Register.ListenerType;
+import dev.cerios.maugame.mauengine.timer.HashedWheelTurnTimer;
+import dev.cerios.maugame.mauengine.timer.Timeout;
+import dev.cerios.maugame.mauengine.timer.TurnTimer;
 import lombok.extern.slf4j.Slf4j;
 
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.IntStream;
 
+import static dev.cerios.maugame.mauengine.codec.WireFormat.*;
 import static dev.cerios.maugame.mauengine.game.PlayerIdGenerator.generatePlayerId;
 
+/**
+ * Keeps players, their order and turns. Not thread-safe, all calls are expected to be guarded by the owning
+ * {@link Game}'s lock.
+ */
 @Slf4j
 class PlayerManager {
     private final UUID gameId;
@@ -24,22 +31,47 @@ class PlayerManager {
     public final int MIN_PLAYERS;
 
     private final static int defaultPlayerIndex = -2;
+    private static final byte FINISHED = 1;
+    private static final byte BOT_CONTROLLED = 2;
+    private static final ListenerType[] LISTENER_TYPES = ListenerType.values();
 
-    private final AtomicInteger currentPlayerIndex = new AtomicInteger(defaultPlayerIndex);
-    private final AtomicInteger activeCounter = new AtomicInteger(0);
+    private int currentPlayerIndex = defaultPlayerIndex;
+    private int activeCounter = 0;
+    private int turn = 0;
 
     private final List<Player> players;
+    private final Map<String, Player> playersById = new HashMap<>();
+    private final Map<String, Player> playersByUsername = new HashMap<>();
+    private int nextSlot = 0;
+    private final List<Player> pendingBatches = new ArrayList<>();
     private final List<String> playerRank = new LinkedList<>();
     private final List<String> removedPlayers = new LinkedList<>();
     private final Map<String, FutureWithTimeout> futures = new HashMap<>();
+    private int rankModCount = 0;
 
     private final Random random;
-    private final ScheduledExecutorService executor;
+    private final TurnTimer turnTimer;
     private final AtomicReference<Stage> stage;
     private final CardManager cardManager;
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
     private final long turnTimeoutMs = 61_000;
+    private Function<Player, LegalMoves> legalMovesProvider;
+    /**
+     * ignores timeouts until {@link Game#onTurnTimeout} is set, which handles them under the game lock
+     */
+    private TurnTimeoutHandler timeoutHandler = TurnTimeoutHandler.IGNORE;
+    private EventDispatcher eventDispatcher = EventDispatcher.sync();
+    private final BroadcastEncoder broadcastEncoder = new BroadcastEncoder();
+    private ActionLog actionLog = new ActionLog(GameOptions.defaults().actionLogCapacity());
+    /**
+     * no turn timers and no actions delivered to listeners, see {@link GameSimulator}
+     */
+    private boolean headless = false;
+    /**
+     * actions are recorded but not delivered to listeners, see {@link Player#setMuted}
+     */
+    private boolean muted = false;
+    private CommandMeter meter = CommandMeter.DISABLED;
 
     /**
      * initiates with maxPlayers = minPlayers = 2
@@ -55,6 +87,18 @@ class PlayerManager {
             int maxPlayers,
             AtomicReference<Stage> stage,
             CardManager cardManager
+    ) {
+        this(gameId, random, minPlayers, maxPlayers, stage, cardManager, HashedWheelTurnTimer.getDefault());
+    }
+
+    public PlayerManager(
+            UUID gameId,
+            Random random,
+            int minPlayers,
+            int maxPlayers,
+            AtomicReference<Stage> stage,
+            CardManager cardManager,
+            TurnTimer turnTimer
     ) {
         if (minPlayers > maxPlayers)
             throw new IllegalArgumentException("Min players must be less than max players.");
@@ -63,117 +107,174 @@ class PlayerManager {
         this.MIN_PLAYERS = minPlayers;
         this.MAX_PLAYERS = maxPlayers;
         this.players = new ArrayList<>(MAX_PLAYERS);
-        this.executor = Executors.newScheduledThreadPool(1, Thread.ofVirtual().factory());
+        this.turnTimer = turnTimer;
         this.stage = stage;
         this.cardManager = cardManager;
     }
 
-    record FutureWithTimeout(Future<?> future, long expireAtMs) {
+    record FutureWithTimeout(Timeout timeout, long expireAtMs) {
         public void cancel() {
-            future.cancel(true);
+            timeout.cancel();
         }
     }
 
+    /**
+     * Called from the timer thread when player on turn did not move in time. Implementation is responsible for
+     * acquiring the game lock.
+     */
+    @FunctionalInterface
+    interface TurnTimeoutHandler {
+        TurnTimeoutHandler IGNORE = (playerId, turn) -> {};
+
+        void onTimeout(String playerId, int turn);
+    }
+
     public List<Player> getPlayers() {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            return Collections.unmodifiableList(players);
-        } finally {
-            l.unlock();
-        }
+        return Collections.unmodifiableList(players);
     }
 
     public Player registerPlayer(String username, GameEventListener eventListener) throws GameException {
-        var l = lock.writeLock();
-        try {
-            l.lock();
-            if (players.size() >= MAX_PLAYERS)
-                throw new GameException(
-                        String.format(
-                                "The game has exceeded the maximum number of players (%s).",
-                                MAX_PLAYERS
-                        )
-                );
+        return registerPlayer(generatePlayerId(), username, eventListener);
+    }
 
-            if (players.stream().anyMatch(p -> p.getUsername().equals(username)))
-                throw new GameException(String.format("Player %s is already registered.", username));
+    /**
+     * Registers player with a known id, used when a game is rebuilt.
+     */
+    Player registerPlayer(String playerId, String username, GameEventListener eventListener) throws GameException {
+        validateCanRegister(username);
+        return addPlayer(newPlayer(nextSlot++, playerId, username, eventListener));
+    }
 
-            var player = new Player(generatePlayerId(), username, eventListener, activeCounter::decrementAndGet);
-            players.add(player);
-            activeCounter.incrementAndGet();
-            distributeActionExcludingPlayer(new RegisterAction(gameId, player, false), player.getPlayerId());
-            player.trigger(new RegisterAction(gameId, player, true));
-            player.trigger(new PlayersAction(new ArrayList<>(players)));
+    public Player registerBatchPlayer(String username, GameEventBatchListener batchListener) throws GameException {
+        return registerBatchPlayer(generatePlayerId(), username, batchListener);
+    }
+
+    Player registerBatchPlayer(String playerId, String username, GameEventBatchListener batchListener)
+            throws GameException {
+        validateCanRegister(username);
+        return addPlayer(newBatchPlayer(nextSlot++, playerId, username, batchListener));
+    }
+
+    public Player registerWirePlayer(String username, GameEventWireListener wireListener) throws GameException {
+        return registerWirePlayer(generatePlayerId(), username, wireListener);
+    }
+
+    Player registerWirePlayer(String playerId, String username, GameEventWireListener wireListener)
+            throws GameException {
+        validateCanRegister(username);
+        return addPlayer(newWirePlayer(nextSlot++, playerId, username, wireListener));
+    }
+
+    private Player newPlayer(int slot, String playerId, String username, GameEventListener eventListener) {
+        return new Player(
+                slot,
+                playerId,
+                username,
+                eventDispatcher.wrap(username, eventListener),
+                () -> activeCounter--
+        );
+    }
+
+    private Player newBatchPlayer(int slot, String playerId, String username, GameEventBatchListener batchListener) {
+        var player = new Player(
+                slot,
+                playerId,
+                username,
+                eventDispatcher.wrapBatch(username, batchListener),
+                pendingBatches::add,
+                () -> activeCounter--
+        );
+        player.setListenerType(ListenerType.BATCH);
+        return player;
+    }
+
+    private Player newWirePlayer(int slot, String playerId, String username, GameEventWireListener wireListener) {
+        // encode on the game thread, so asynchronous dispatch shares the already encoded bytes
+        var player = new Player(
+                slot,
+                playerId,
+                username,
+                broadcastEncoder.adapt(eventDispatcher.wrapWire(username, wireListener)),
+                () -> activeCounter--
+        );
+        player.setListenerType(ListenerType.WIRE);
+        return player;
+    }
+
+    private void validateCanRegister(String username) throws GameException {
+        if (players.size() >= MAX_PLAYERS)
+            throw new GameException(
+                    String.format(
+                            "The game has exceeded the maximum number of players (%s).",
+                            MAX_PLAYERS
+                    )
+            );
+
+        if (playersByUsername.containsKey(username))
+            throw new GameException(String.format("Player %s is already registered.", username));
+    }
+
+    private Player addPlayer(Player player) {
+        players.add(player);
+        playersById.put(player.getPlayerId(), player);
+        playersByUsername.put(player.getUsername(), player);
+        activeCounter++;
+        if (headless)
             return player;
-        } finally {
-            l.unlock();
-        }
+        player.setMuted(muted);
+        player.setActionLog(actionLog);
+        if (meter.isEnabled())
+            player.setMeter(meter);
+        distributeActionExcludingPlayer(new RegisterAction(gameId, player, false), player.getPlayerId());
+        player.trigger(new RegisterAction(gameId, player, true));
+        player.trigger(new PlayersAction(new ArrayList<>(players)));
+        return player;
     }
 
     public void removePlayer(String playerId) throws GameException {
-        Player removedPlayer;
-        var l = lock.writeLock();
-        try {
-            l.lock();
-            var removeIndex = IntStream.range(0, players.size())
-                    .filter(index -> players.get(index).getPlayerId().equals(playerId))
-                    .findFirst()
-                    .orElseThrow(() -> new GameException("Player " + playerId + "not in game."));
-
-            removedPlayer = players.remove(removeIndex);
-            removedPlayer.deactivate();
-            var hand = removedPlayer.getHand();
-            cardManager.addToDeck(hand);
-            distributeActionToAll(new RemovePlayerAction(removedPlayer, hand.size()));
-            hand.clear();
-            if (stage.get() != Stage.RUNNING)
-                return;
-            removedPlayers.addFirst(removedPlayer.getUsername());
-            removedPlayer.trigger(new DisqualifiedAction());
-
-            // if pm has at least 2 active players
-            if (activeCounter.get() > 1) {
-                shiftPlayer(false);
-                return;
-            }
-
-            if (activeCounter.get() == 1)
-                playerWin(findNextPlayer());
-        } finally {
-            l.unlock();
+        var removedPlayer = playersById.remove(playerId);
+        if (removedPlayer == null)
+            throw new GameException("Player " + playerId + "not in game.");
+
+        players.remove(removedPlayer);
+        playersByUsername.remove(removedPlayer.getUsername());
+        poke(playerId);
+        removedPlayer.deactivate();
+        var hand = removedPlayer.getHand();
+        cardManager.addToDeck(hand);
+        distributeActionToAll(new RemovePlayerAction(removedPlayer, hand.size()));
+        hand.clear();
+        if (stage.get() != Stage.RUNNING)
+            return;
+        removedPlayers.addFirst(removedPlayer.getUsername());
+        rankModCount++;
+        removedPlayer.trigger(new DisqualifiedAction());
+
+        // if pm has at least 2 active players
+        if (activeCounter > 1) {
+            shiftPlayer(false);
+            return;
         }
+
+        if (activeCounter == 1)
+            playerWin(findNextPlayer());
     }
 
-    private boolean isInitialized() {
-        return currentPlayerIndex.get() > defaultPlayerIndex;
+    boolean isInitialized() {
+        return currentPlayerIndex > defaultPlayerIndex;
     }
 
     public Player currentPlayer() {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            var currentIndex = currentPlayerIndex.get();
-            if (currentIndex == defaultPlayerIndex)
-                throw new RuntimeException("Player manager has not been initialized yet.");
-            return players.get(currentIndex % players.size());
-        } finally {
-            l.unlock();
-        }
+        if (currentPlayerIndex == defaultPlayerIndex)
+            throw new RuntimeException("Player manager has not been initialized yet.");
+        return players.get(currentPlayerIndex % players.size());
     }
 
     public Player getPlayer(String playerId) throws GameException {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            return players.stream()
-                    .filter(p -> p.getPlayerId().equals(playerId))
-                    .findFirst()
-                    .orElseThrow(() -> new GameException("No player with id `" + playerId + "` was found."));
-
-        } finally {
-            l.unlock();
-        }
+        var player = playersById.get(playerId);
+        if (player == null)
+            throw new GameException("No player with id `" + playerId + "` was found.");
+        return player;
     }
 
     /**
@@ -183,48 +284,32 @@ class PlayerManager {
      * @return whether game should continue
      */
     public boolean playerWin(Player player) {
-        var l = lock.writeLock();
-        try {
-            l.lock();
-            player.deactivate();
-            playerRank.add(player.getUsername());
-
-            var gameContinues = activeCounter.get() > 1;
-            if (gameContinues)
-                distributeActionToAll(new SendRankAction(getPlayerRank()));
-            else {
-                if (activeCounter.get() == 1) {
-                    loseLastActivePlayer();
-                }
-                stage.set(Stage.FINISH);
-                distributeActionToAll(new EndAction(getPlayerRank()));
+        player.deactivate();
+        playerRank.add(player.getUsername());
+        rankModCount++;
+
+        var gameContinues = activeCounter > 1;
+        if (gameContinues)
+            distributeActionToAll(new SendRankAction(getPlayerRank()));
+        else {
+            if (activeCounter == 1) {
+                loseLastActivePlayer();
             }
-            return gameContinues;
-        } finally {
-            l.unlock();
+            stage.set(Stage.FINISH);
+            cancelTimeouts();
+            distributeActionToAll(new EndAction(getPlayerRank()));
         }
+        return gameContinues;
     }
 
     public void validateCanStart() throws GameException {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            if (activeCounter.get() < MIN_PLAYERS)
-                throw new GameException("The game needs at least " + MIN_PLAYERS + " active players to start.");
-        } finally {
-            l.unlock();
-        }
+        if (activeCounter < MIN_PLAYERS)
+            throw new GameException("The game needs at least " + MIN_PLAYERS + " active players to start.");
     }
 
     public void initializePlayer() {
-        var l = lock.writeLock();
-        try {
-            l.lock();
-            currentPlayerIndex.set(random.nextInt(players.size()) - 1);
-            shiftPlayer();
-        } finally {
-            l.unlock();
-        }
+        currentPlayerIndex = random.nextInt(players.size()) - 1;
+        shiftPlayer();
     }
 
     public void shiftPlayer() {
@@ -232,26 +317,35 @@ class PlayerManager {
     }
 
     private void shiftPlayer(boolean increment) {
-        var l = lock.writeLock();
-        try {
-            l.lock();
-            if (increment)
-                currentPlayerIndex.incrementAndGet();
-            var nextPlayer = findNextPlayer();
-            var expireTime = System.currentTimeMillis() + turnTimeoutMs;
-            var timeoutFuture = executor.schedule(() -> {
-                try {
-                    removePlayer(nextPlayer.getPlayerId());
-                } catch (GameException e) {
-                    log.warn(e.getMessage(), e);
-                }
-            }, turnTimeoutMs, TimeUnit.MILLISECONDS);
-            futures.put(nextPlayer.getPlayerId(), new FutureWithTimeout(timeoutFuture, expireTime));
-            var action = new PlayerShiftAction(nextPlayer, expireTime);
+        if (increment)
+            currentPlayerIndex++;
+        var currentTurn = ++turn;
+        var nextPlayer = findNextPlayer();
+        if (headless)
+            return;
+        var expireTime = System.currentTimeMillis() + turnTimeoutMs;
+        var timeoutFuture = turnTimer.schedule(
+                () -> timeoutHandler.onTimeout(nextPlayer.getPlayerId(), currentTurn),
+                turnTimeoutMs,
+                TimeUnit.MILLISECONDS
+        );
+        futures.put(nextPlayer.getPlayerId(), new FutureWithTimeout(timeoutFuture, expireTime));
+        var action = new PlayerShiftAction(nextPlayer, expireTime);
+        if (legalMovesProvider == null) {
             distributeActionToAll(action);
-        } finally {
-            l.unlock();
+            return;
         }
+        distributeActionExcludingPlayer(action, nextPlayer.getPlayerId());
+        nextPlayer.trigger(new PlayerShiftAction(nextPlayer, expireTime, legalMovesProvider.apply(nextPlayer)));
+    }
+
+    /**
+     * Delivers actions collected for batch listeners during the current command, including removed players.
+     */
+    public void flushBatches() {
+        for (int i = 0; i < pendingBatches.size(); i++)
+            pendingBatches.get(i).flush();
+        pendingBatches.clear();
     }
 
     public void distributeActionToAll(Action action) {
@@ -269,88 +363,232 @@ class PlayerManager {
      * @return last expire time if possible
      */
     public long getLastExpire(String playerId) {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            return Optional.ofNullable(futures.get(playerId))
-                    .map(FutureWithTimeout::expireAtMs)
-                    .orElse(-1L);
-        } finally {
-            l.unlock();
-        }
-    }
-
-    public Lock writeLock() {
-        return lock.writeLock();
-    }
-
-    public Lock readLock() {
-        return lock.readLock();
+        return Optional.ofNullable(futures.get(playerId))
+                .map(FutureWithTimeout::expireAtMs)
+                .orElse(-1L);
     }
 
     public void distributeActionExcludingPlayer(Action action, String playerId) {
-        distributeAction(action, p -> !p.getPlayerId().equals(playerId));
+        var excluded = playersById.get(playerId);
+        distributeAction(action, p -> p != excluded);
     }
 
     private void distributeAction(
             Action action,
             Predicate<Player> playerPredicate
     ) {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            var s = players.stream();
-            if (playerPredicate != null)
-                s = s.filter(playerPredicate);
-            s.forEach(player -> player.trigger(action));
-        } finally {
-            l.unlock();
+        if (headless)
+            return;
+        var event = new ActionDispatchEvent();
+        boolean recorded = event.isEnabled();
+        if (recorded)
+            event.begin();
+        int recipients = 0;
+        for (int i = 0; i < players.size(); i++) {
+            var player = players.get(i);
+            if (playerPredicate == null || playerPredicate.test(player)) {
+                player.trigger(action);
+                recipients++;
+            }
+        }
+        if (!recorded)
+            return;
+        event.end();
+        if (event.shouldCommit()) {
+            event.gameId = gameId.toString();
+            event.actionType = action.getType().name();
+            event.recipients = recipients;
+            event.commit();
         }
     }
 
+    /**
+     * @return seat of the player, {@code -1} if there is no such player
+     */
+    int slotOf(String playerId) {
+        var player = playersById.get(playerId);
+        return player == null ? -1 : player.getSlot();
+    }
+
     public int getFreeCapacity() {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            return MAX_PLAYERS - players.size();
-        } finally {
-            l.unlock();
-        }
+        return MAX_PLAYERS - players.size();
     }
 
     public boolean hasEnoughPlayers() {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            return isInitialized() || players.size() >= MIN_PLAYERS;
-        } finally {
-            l.unlock();
-        }
+        return isInitialized() || players.size() >= MIN_PLAYERS;
     }
 
     public List<String> getPlayerRank() {
-        var l = lock.readLock();
-        try {
-            l.lock();
-            var out = new LinkedList<>(playerRank);
-            if (!out.isEmpty())
-                out.addAll(removedPlayers);
-            return Collections.unmodifiableList(out);
-        } finally {
-            l.unlock();
-        }
+        var out = new LinkedList<>(playerRank);
+        if (!out.isEmpty())
+            out.addAll(removedPlayers);
+        return Collections.unmodifiableList(out);
+    }
+
+    /**
+     * @return counter changed with every modification of the player rank
+     */
+    int getRankModCount() {
+        return rankModCount;
+    }
+
+    /**
+     * @return number of turns started so far, changes with every shift of the current player
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    void setLegalMovesProvider(Function<Player, LegalMoves> legalMovesProvider) {
+        this.legalMovesProvider = legalMovesProvider;
+    }
+
+    void setTimeoutHandler(TurnTimeoutHandler timeoutHandler) {
+        this.timeoutHandler = timeoutHandler;
+    }
+
+    void setEventDispatcher(EventDispatcher eventDispatcher) {
+        this.eventDispatcher = eventDispatcher;
+    }
+
+    void setMuted(boolean muted) {
+        this.muted = muted;
+        players.forEach(player -> player.setMuted(muted));
+    }
+
+    void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    void setMeter(CommandMeter meter) {
+        this.meter = meter;
+    }
+
+    void setActionLog(ActionLog actionLog) {
+        this.actionLog = actionLog;
+    }
+
+    ActionLog getActionLog() {
+        return actionLog;
+    }
+
+    long getEncodedActionCount() {
+        return broadcastEncoder.encodedCount();
     }
 
     public int getActiveCounter() {
-        return activeCounter.get();
+        return activeCounter;
+    }
+
+    /**
+     * Writes players with kinds of their listeners, their hands, order, seats taken over by the bot, rank, turn
+     * deadlines and the last action sequence. The seed continuing the game's random sequence is stored too, so the
+     * restored game draws the same numbers as the original.
+     *
+     * @throws IllegalStateException when the game does not own a {@link GameRandom}
+     */
+    void writeCheckpoint(ByteBuffer out) {
+        if (!(random instanceof GameRandom gameRandom))
+            throw new IllegalStateException("Only games with their own random generator can be checkpointed.");
+        out.putInt(currentPlayerIndex);
+        putVarInt(out, activeCounter);
+        putVarInt(out, turn);
+        putVarInt(out, nextSlot);
+        putVarInt(out, rankModCount);
+        out.putLong(gameRandom.currentSeed());
+        putVarLong(out, actionLog.lastSequence());
+
+        putVarInt(out, players.size());
+        for (Player player : players) {
+            putVarInt(out, player.getSlot());
+            putString(out, player.getPlayerId());
+            putString(out, player.getUsername());
+            out.put((byte) player.getListenerType().ordinal());
+            out.put((byte) ((player.isFinished() ? FINISHED : 0) | (player.isBotControlled() ? BOT_CONTROLLED : 0)));
+            out.putInt(player.getHand().bits());
+            // zero when the player has no running turn timer
+            putVarLong(out, getLastExpire(player.getPlayerId()) + 1);
+        }
+        putStrings(out, playerRank);
+        putStrings(out, removedPlayers);
+    }
+
+    /**
+     * Restores state written by {@link #writeCheckpoint} into a freshly created manager and reschedules turn timers
+     * with their remaining time.
+     */
+    void readCheckpoint(ByteBuffer in, RestoredListeners listeners) {
+        currentPlayerIndex = in.getInt();
+        int savedActiveCounter = getVarInt(in);
+        turn = getVarInt(in);
+        nextSlot = getVarInt(in);
+        rankModCount = getVarInt(in);
+        random.setSeed(in.getLong());
+        actionLog.restoreSequence(getVarLong(in));
+
+        int count = getVarInt(in);
+        var now = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            var slot = getVarInt(in);
+            var playerId = getString(in);
+            var username = getString(in);
+            var player = switch (LISTENER_TYPES[in.get()]) {
+                case EVENT -> newPlayer(slot, playerId, username, listeners.listener(username));
+                case BATCH -> newBatchPlayer(slot, playerId, username, listeners.batchListener(username));
+                case WIRE -> newWirePlayer(slot, playerId, username, listeners.wireListener(username));
+            };
+            player.setActionLog(actionLog);
+            if (meter.isEnabled())
+                player.setMeter(meter);
+            players.add(player);
+            playersById.put(playerId, player);
+            playersByUsername.put(username, player);
+            byte flags = in.get();
+            if ((flags & FINISHED) != 0)
+                player.deactivate();
+            player.setBotControlled((flags & BOT_CONTROLLED) != 0);
+            player.getHand().addAll(new CardSet(in.getInt()));
+            long expireAtMs = getVarLong(in) - 1;
+            if (expireAtMs >= 0) {
+                int currentTurn = turn;
+                var timeout = turnTimer.schedule(
+                        () -> timeoutHandler.onTimeout(playerId, currentTurn),
+                        Math.max(0, expireAtMs - now),
+                        TimeUnit.MILLISECONDS
+                );
+                futures.put(playerId, new FutureWithTimeout(timeout, expireAtMs));
+            }
+        }
+        activeCounter = savedActiveCounter;
+        playerRank.addAll(getStrings(in));
+        removedPlayers.addAll(getStrings(in));
+    }
+
+    private static void putStrings(ByteBuffer out, Collection<String> values) {
+        putVarInt(out, values.size());
+        for (String value : values)
+            putString(out, value);
+    }
+
+    private static List<String> getStrings(ByteBuffer in) {
+        int count = getVarInt(in);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++)
+            values.add(getString(in));
+        return values;
+    }
+
+    private void cancelTimeouts() {
+        futures.values().forEach(FutureWithTimeout::cancel);
+        futures.clear();
     }
 
     private Player findNextPlayer() {
-        if (activeCounter.get() < 1)
+        if (activeCounter < 1)
             throw new RuntimeException("There is no next player");
-        Player nextPlayer = players.get(currentPlayerIndex.get() % players.size());
+        Player nextPlayer = players.get(currentPlayerIndex % players.size());
         while (nextPlayer.isFinished()) {
-            nextPlayer = players.get(currentPlayerIndex.incrementAndGet() % players.size());
+            nextPlayer = players.get(++currentPlayerIndex % players.size());
         }
         return nextPlayer;
     }
@@ -359,5 +597,6 @@ class PlayerManager {
         var losingPlayer = findNextPlayer();
         losingPlayer.deactivate();
         playerRank.add(losingPlayer.getUsername());
+        rankModCount++;
     }
-}
\ No newline at end of file
+}
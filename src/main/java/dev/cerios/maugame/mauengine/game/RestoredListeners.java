@@ -0,0 +1,20 @@
+package dev.cerios.maugame.mauengine.game;
+
+/**
+ * Provides listeners of players rebuilt by {@link GameFactory#restore} or {@link GameFactory#restoreCheckpoint}.
+ * Every player gets the kind of listener it registered with, only players registered by {@link Game#registerPlayer}
+ * are supported by default.
+ */
+@FunctionalInterface
+public interface RestoredListeners {
+
+    GameEventListener listener(String username);
+
+    default GameEventBatchListener batchListener(String username) {
+        throw new UnsupportedOperationException("No batch listener for " + username + ".");
+    }
+
+    default GameEventWireListener wireListener(String username) {
+        throw new UnsupportedOperationException("No wire listener for " + username + ".");
+    }
+}
@@ -0,0 +1,9 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.game.action.Action;
+
+/**
+ * Action together with its per-game sequence number, see {@link GameEventListener#accept(Player, Action, long)}.
+ */
+public record SequencedAction(long sequence, Action action) {
+}
@@ -0,0 +1,42 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.bot.Strategy;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of {@link GameSimulator#run}.
+ *
+ * @param finished games played until the end
+ * @param stalled  games aborted after reaching the turn limit or when the player on turn had no legal move left
+ * @param failed   games aborted because a strategy returned an illegal move
+ * @param turns    turns played in all games
+ * @param seats    statistics per seat, in order of the strategies, counted from finished games only
+ */
+public record SimulationResult(
+        long games,
+        long finished,
+        long stalled,
+        long failed,
+        long turns,
+        Duration elapsed,
+        List<Seat> seats
+) {
+    /**
+     * @param wins         games in which the seat was first to get rid of all cards
+     * @param losses       games in which the seat remained last
+     * @param averagePlace average 1-based position in the final rank
+     */
+    public record Seat(Strategy strategy, long wins, long losses, double averagePlace) {
+    }
+
+    public double gamesPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : games * 1e9 / nanos;
+    }
+
+    public double averageTurns() {
+        return games == 0 ? 0 : (double) turns / games;
+    }
+}
@@ -0,0 +1,209 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.game.effect.GameEffect;
+
+import java.util.*;
+
+import static dev.cerios.maugame.mauengine.game.GameStateDelta.Field.*;
+
+/**
+ * Tracks the version in which every part of a game state last changed. Changes are detected by comparing with values
+ * recorded at the end of the previous command, hands are compared as card masks. Not thread-safe, used under the
+ * owning game's lock.
+ */
+class StateVersions {
+    /**
+     * removals kept for deltas, clients older than the oldest of them get the full state
+     */
+    static final int MAX_REMOVED = 64;
+
+    private long version = 0;
+    private long pass = 0;
+
+    private final Map<Player, HandStamp> hands = new IdentityHashMap<>();
+    private final ArrayDeque<RemovedStamp> removed = new ArrayDeque<>();
+    /**
+     * version of the latest removal which was trimmed
+     */
+    private long removedHorizon = 0;
+
+    private Card pileCard;
+    private long pileVersion;
+    private int deckSize;
+    private long deckVersion;
+    private Stage stage;
+    private long stageVersion;
+    private Player currentPlayer;
+    private int turn;
+    private long currentVersion;
+    private GameEffect gameEffect;
+    private long effectVersion;
+    private int rankModCount;
+    private long rankVersion;
+
+    long version() {
+        return version;
+    }
+
+    /**
+     * Records the current state, the version is increased only when anything changed.
+     */
+    void record(GameCore core, PlayerManager playerManager) {
+        long next = version + 1;
+        // the first record stamps everything, so a delta since version 0 is the whole state
+        boolean first = version == 0;
+        boolean changed = false;
+
+        pass++;
+        for (Player player : playerManager.getPlayers()) {
+            var stamp = hands.get(player);
+            int bits = player.getHand().bits();
+            if (stamp == null) {
+                stamp = new HandStamp();
+                stamp.bits = bits;
+                stamp.version = next;
+                hands.put(player, stamp);
+                changed = true;
+            } else if (stamp.bits != bits) {
+                stamp.bits = bits;
+                stamp.version = next;
+                changed = true;
+            }
+            stamp.pass = pass;
+        }
+        if (hands.size() != playerManager.getPlayers().size()) {
+            for (var it = hands.entrySet().iterator(); it.hasNext(); ) {
+                var entry = it.next();
+                if (entry.getValue().pass != pass) {
+                    removed.addLast(new RemovedStamp(entry.getKey().getUsername(), next));
+                    if (removed.size() > MAX_REMOVED)
+                        removedHorizon = removed.removeFirst().version();
+                    it.remove();
+                    changed = true;
+                }
+            }
+        }
+
+        var pile = core.getPileCard();
+        if (first || !Objects.equals(pileCard, pile)) {
+            pileCard = pile;
+            pileVersion = next;
+            changed = true;
+        }
+        int deck = core.getDeckSize();
+        if (first || deckSize != deck) {
+            deckSize = deck;
+            deckVersion = next;
+            changed = true;
+        }
+        var currentStage = core.getStage();
+        if (first || stage != currentStage) {
+            stage = currentStage;
+            stageVersion = next;
+            changed = true;
+        }
+        // a new turn of the same player is a change too, it comes with a new deadline
+        var current = playerManager.isInitialized() ? playerManager.currentPlayer() : null;
+        int currentTurn = playerManager.getTurn();
+        if (first || currentPlayer != current || turn != currentTurn) {
+            currentPlayer = current;
+            turn = currentTurn;
+            currentVersion = next;
+            changed = true;
+        }
+        var effect = core.getGameEffect();
+        if (first || !Objects.equals(gameEffect, effect)) {
+            gameEffect = effect;
+            effectVersion = next;
+            changed = true;
+        }
+        int rank = playerManager.getRankModCount();
+        if (first || rankModCount != rank) {
+            rankModCount = rank;
+            rankVersion = next;
+            changed = true;
+        }
+
+        if (changed)
+            version = next;
+    }
+
+    /**
+     * Versions older than the oldest kept removal fall back to the full state, as if {@code 0} was requested.
+     */
+    GameStateDelta since(long requestedVersion, PlayerManager playerManager) {
+        if (requestedVersion < 0 || requestedVersion > version)
+            throw new IllegalArgumentException("Unknown state version " + requestedVersion + ", current is " + version);
+        if (requestedVersion == version)
+            return GameStateDelta.empty(version);
+        long sinceVersion = requestedVersion < removedHorizon ? 0 : requestedVersion;
+
+        var changes = EnumSet.noneOf(GameStateDelta.Field.class);
+        Map<String, List<Card>> changedHands = Map.of();
+        for (Player player : playerManager.getPlayers()) {
+            var stamp = hands.get(player);
+            if (stamp != null && stamp.version > sinceVersion) {
+                if (changedHands.isEmpty())
+                    changedHands = new HashMap<>();
+                changedHands.put(player.getUsername(), player.getHand().toList());
+            }
+        }
+        if (!changedHands.isEmpty())
+            changes.add(HANDS);
+
+        // the full state lists everyone present, removals are of no use
+        List<String> removedPlayers = List.of();
+        if (sinceVersion > 0) {
+            for (var it = removed.descendingIterator(); it.hasNext(); ) {
+                var stamp = it.next();
+                if (stamp.version() <= sinceVersion)
+                    break;
+                if (removedPlayers.isEmpty())
+                    removedPlayers = new ArrayList<>();
+                removedPlayers.addFirst(stamp.username());
+            }
+        }
+        if (!removedPlayers.isEmpty())
+            changes.add(REMOVED_PLAYERS);
+
+        List<String> playerRank = null;
+        if (rankVersion > sinceVersion) {
+            changes.add(PLAYER_RANK);
+            playerRank = playerManager.getPlayerRank();
+        }
+        if (pileVersion > sinceVersion)
+            changes.add(TOP_PILE);
+        if (deckVersion > sinceVersion)
+            changes.add(DECK_SIZE);
+        if (stageVersion > sinceVersion)
+            changes.add(STAGE);
+        if (currentVersion > sinceVersion)
+            changes.add(CURRENT_PLAYER);
+        if (effectVersion > sinceVersion)
+            changes.add(GAME_EFFECT);
+
+        return new GameStateDelta(
+                sinceVersion,
+                version,
+                Collections.unmodifiableSet(changes),
+                changedHands,
+                removedPlayers,
+                playerRank,
+                changes.contains(TOP_PILE) ? pileCard : null,
+                changes.contains(DECK_SIZE) ? deckSize : -1,
+                changes.contains(STAGE) ? stage : null,
+                changes.contains(CURRENT_PLAYER) && currentPlayer != null ? currentPlayer.getUsername() : null,
+                changes.contains(GAME_EFFECT) ? gameEffect : null
+        );
+    }
+
+    private static final class HandStamp {
+        private int bits;
+        private long version;
+        private long pass;
+    }
+
+    private record RemovedStamp(String username, long version) {
+    }
+}
@@ -0,0 +1,22 @@
+package dev.cerios.maugame.mauengine.game;
+
+import jdk.jfr.*;
+
+/**
+ * JFR event emitted when a player on turn runs out of time.
+ */
+@Name("dev.cerios.maugame.TurnTimeout")
+@Label("Turn Timeout")
+@Category({"MauGame", "Game"})
+@StackTrace(false)
+final class TurnTimeoutEvent extends Event {
+    @Label("Game Id")
+    String gameId;
+    @Label("Player Slot")
+    int playerSlot;
+    @Label("Turn")
+    int turn;
+    @Label("Taken Over By Bot")
+    @Description("Whether the takeover strategy continues for the player instead of removing it")
+    boolean takenOverByBot;
+}
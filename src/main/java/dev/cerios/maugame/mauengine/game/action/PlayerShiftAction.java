@@ -1,5 +1,6 @@
 package dev.cerios.maugame.mauengine.game.action;
 
+import dev.cerios.maugame.mauengine.game.LegalMoves;
 import dev.cerios.maugame.mauengine.game.Player;
 import lombok.*;
 
@@ -12,6 +13,16 @@ public class PlayerShiftAction implements Action {
     private final Player player;
     @EqualsAndHashCode.Exclude
     private final long expireAtMs;
+    /**
+     * present only in the action sent to the player on turn, when enabled by
+     * {@link dev.cerios.maugame.mauengine.game.GameOptions#attachLegalMoves()}
+     */
+    @EqualsAndHashCode.Exclude
+    private final LegalMoves legalMoves;
+
+    public PlayerShiftAction(Player player, long expireAtMs) {
+        this(player, expireAtMs, null);
+    }
 
     @Override
     public ActionType getType() {
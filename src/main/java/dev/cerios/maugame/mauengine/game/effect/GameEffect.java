@@ -1,4 +1,8 @@
 package dev.cerios.maugame.mauengine.game.effect;
 
 public sealed interface GameEffect permits DrawEffect, SkipEffect {
+    /**
+     * @return mask of cards which are allowed to be played while the effect is active
+     */
+    int playableMask();
 }
@@ -1,4 +1,13 @@
 package dev.cerios.maugame.mauengine.game.effect;
 
+import dev.cerios.maugame.mauengine.card.CardSet;
+import dev.cerios.maugame.mauengine.card.CardType;
+
 public record SkipEffect() implements GameEffect {
+    private static final int PLAYABLE = CardSet.typeMask(CardType.ACE);
+
+    @Override
+    public int playableMask() {
+        return PLAYABLE;
+    }
 }
@@ -0,0 +1,394 @@
+package dev.cerios.maugame.mauengine.journal;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.Color;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.CRC32;
+
+import static dev.cerios.maugame.mauengine.journal.JournalEntry.Register.ListenerType.*;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Append-only journal of a single game. Appends only copy the encoded entry into memory, a flusher writes everything
+ * appended so far with one {@link FileChannel#write} and one {@link FileChannel#force} call (group commit), so the
+ * number of fsyncs does not grow with the number of moves. The flusher runs on a virtual thread started on demand.
+ * <p>
+ * Every record is framed as {@code [int length][payload][int crc32]}, a torn record at the end of the file is
+ * discarded by {@link #recover(Path)}.
+ */
+@Slf4j
+public final class GameJournal implements Closeable {
+    private static final byte FORMAT_VERSION = 1;
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+    private static final int FRAME_OVERHEAD = 2 * Integer.BYTES;
+
+    private static final byte HEADER = 0;
+    private static final byte REGISTER = 1;
+    private static final byte REMOVE = 2;
+    private static final byte START = 3;
+    private static final byte PLAY_CARD = 4;
+    private static final byte DRAW = 5;
+    private static final byte PASS = 6;
+    private static final byte REGISTER_BATCH = 7;
+    private static final byte REGISTER_WIRE = 8;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+
+    private static final Color[] COLORS = Color.values();
+    private static final byte NO_COLOR = -1;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final Thread.Builder flusherBuilder;
+    private final CRC32 crc = new CRC32();
+
+    private final Object lock = new Object();
+    private ByteBuffer pending = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private ByteBuffer spare = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+    private final ArrayDeque<Waiter> waiters = new ArrayDeque<>();
+    private long appendedBytes;
+    private long durableBytes;
+    private long syncCount;
+    private boolean flushing;
+    private boolean closed;
+    private IOException failure;
+
+    private GameJournal(Path file, FileChannel channel, long size) {
+        this.file = file;
+        this.channel = channel;
+        this.flusherBuilder = Thread.ofVirtual().name("journal-" + file.getFileName());
+        this.appendedBytes = size;
+        this.durableBytes = size;
+    }
+
+    /**
+     * Creates a new journal file starting with the header, the header is durable when this method returns.
+     */
+    public static GameJournal create(Path file, JournalEntry.Header header) throws IOException {
+        var journal = new GameJournal(file, FileChannel.open(file, CREATE_NEW, WRITE), 0);
+        journal.append(header);
+        try {
+            journal.sync().join();
+        } catch (CompletionException e) {
+            journal.channel.close();
+            throw new IOException("Cannot write journal header to " + file, e.getCause());
+        }
+        return journal;
+    }
+
+    /**
+     * Reads all complete entries and reopens the journal for appending after the last of them.
+     */
+    public static Recovered recover(Path file) throws IOException {
+        var content = ByteBuffer.wrap(Files.readAllBytes(file));
+        var entries = readEntries(content, file);
+        var channel = FileChannel.open(file, WRITE);
+        long validLength = content.position();
+        if (validLength < channel.size()) {
+            log.warn("Discarding {} bytes of incomplete journal records in {}.", channel.size() - validLength, file);
+            channel.truncate(validLength);
+        }
+        channel.position(validLength);
+        return new Recovered(entries, new GameJournal(file, channel, validLength));
+    }
+
+    /**
+     * Reads all complete entries of the journal without opening it for writing.
+     */
+    public static List<JournalEntry> read(Path file) throws IOException {
+        return readEntries(ByteBuffer.wrap(Files.readAllBytes(file)), file);
+    }
+
+    /**
+     * Appends the entry to the journal, it becomes durable with the next group commit.
+     *
+     * @return journal length including the entry, see {@link #sync()}
+     */
+    public long append(JournalEntry entry) {
+        synchronized (lock) {
+            if (closed)
+                throw new IllegalStateException("Journal " + file + " is closed.");
+            if (failure != null)
+                throw new IllegalStateException("Journal " + file + " failed.", failure);
+            int start = pending.position();
+            while (true) {
+                try {
+                    if (pending.capacity() - start < FRAME_OVERHEAD)
+                        throw new BufferOverflowException();
+                    pending.position(start + Integer.BYTES);
+                    encode(entry, pending);
+                    int payloadLength = pending.position() - start - Integer.BYTES;
+                    pending.putInt(start, payloadLength);
+                    crc.reset();
+                    crc.update(pending.slice(start + Integer.BYTES, payloadLength));
+                    pending.putInt((int) crc.getValue());
+                    break;
+                } catch (IllegalArgumentException e) {
+                    pending.position(start);
+                    throw e;
+                } catch (BufferOverflowException e) {
+                    var grown = ByteBuffer.allocate(pending.capacity() * 2);
+                    grown.put(pending.flip().limit(start));
+                    pending = grown;
+                }
+            }
+            appendedBytes += pending.position() - start;
+            if (!flushing) {
+                flushing = true;
+                flusherBuilder.start(this::flush);
+            }
+            return appendedBytes;
+        }
+    }
+
+    /**
+     * @return future completed once everything appended so far is durable
+     */
+    public CompletableFuture<Void> sync() {
+        synchronized (lock) {
+            if (failure != null)
+                return CompletableFuture.failedFuture(failure);
+            if (durableBytes >= appendedBytes)
+                return CompletableFuture.completedFuture(null);
+            var future = new CompletableFuture<Void>();
+            waiters.add(new Waiter(appendedBytes, future));
+            return future;
+        }
+    }
+
+    /**
+     * @return number of fsyncs performed, each of them commits all entries appended in the meantime
+     */
+    public long syncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Rejects further appends, waits for pending entries to become durable and closes the file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            closeAsync().join();
+        } catch (CompletionException e) {
+            throw new IOException("Journal " + file + " failed.", e.getCause());
+        }
+    }
+
+    /**
+     * Rejects further appends and closes the file once pending entries are durable, without waiting for it.
+     *
+     * @return future completed when the file is closed, exceptionally when the pending entries or closing failed
+     */
+    public CompletableFuture<Void> closeAsync() {
+        synchronized (lock) {
+            if (closed)
+                return CompletableFuture.completedFuture(null);
+            closed = true;
+        }
+        return sync().handle((ignored, failure) -> {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                if (failure == null)
+                    throw new CompletionException(e);
+                failure.addSuppressed(e);
+            }
+            if (failure != null)
+                throw failure instanceof CompletionException c ? c : new CompletionException(failure);
+            return null;
+        });
+    }
+
+    private void flush() {
+        while (true) {
+            ByteBuffer batch;
+            long target;
+            synchronized (lock) {
+                if (pending.position() == 0) {
+                    flushing = false;
+                    return;
+                }
+                batch = pending;
+                pending = spare;
+                spare = batch;
+                target = appendedBytes;
+            }
+            try {
+                batch.flip();
+                while (batch.hasRemaining())
+                    channel.write(batch);
+                channel.force(false);
+            } catch (IOException e) {
+                fail(e);
+                return;
+            } finally {
+                batch.clear();
+            }
+            List<Waiter> completed = new ArrayList<>();
+            synchronized (lock) {
+                durableBytes = target;
+                syncCount++;
+                while (!waiters.isEmpty() && waiters.peek().position() <= target)
+                    completed.add(waiters.poll());
+            }
+            completed.forEach(waiter -> waiter.future().complete(null));
+        }
+    }
+
+    private void fail(IOException e) {
+        log.error("Writing journal {} failed.", file, e);
+        List<Waiter> failed;
+        synchronized (lock) {
+            failure = e;
+            flushing = false;
+            failed = new ArrayList<>(waiters);
+            waiters.clear();
+        }
+        failed.forEach(waiter -> waiter.future().completeExceptionally(e));
+    }
+
+    private static void encode(JournalEntry entry, ByteBuffer out) {
+        switch (entry) {
+            case JournalEntry.Header h -> {
+                out.put(HEADER);
+                out.put(FORMAT_VERSION);
+                out.putLong(h.gameId().getMostSignificantBits());
+                out.putLong(h.gameId().getLeastSignificantBits());
+                out.putLong(h.seed());
+                out.putInt(h.minPlayers());
+                out.putInt(h.maxPlayers());
+            }
+            case JournalEntry.Register r -> {
+                out.put(switch (r.listenerType()) {
+                    case EVENT -> REGISTER;
+                    case BATCH -> REGISTER_BATCH;
+                    case WIRE -> REGISTER_WIRE;
+                });
+                putString(out, r.playerId());
+                putString(out, r.username());
+            }
+            case JournalEntry.Remove r -> {
+                out.put(REMOVE);
+                putString(out, r.playerId());
+            }
+            case JournalEntry.Start ignored -> out.put(START);
+            case JournalEntry.PlayCard p -> {
+                out.put(PLAY_CARD);
+                putString(out, p.playerId());
+                out.put((byte) p.card().ordinal());
+                out.put(p.nextColor() == null ? NO_COLOR : (byte) p.nextColor().ordinal());
+            }
+            case JournalEntry.Draw d -> {
+                out.put(DRAW);
+                putString(out, d.playerId());
+            }
+            case JournalEntry.Pass p -> {
+                out.put(PASS);
+                putString(out, p.playerId());
+            }
+        }
+    }
+
+    private static JournalEntry decode(ByteBuffer in) throws IOException {
+        byte tag = in.get();
+        return switch (tag) {
+            case HEADER -> {
+                byte version = in.get();
+                if (version != FORMAT_VERSION)
+                    throw new IOException("Unsupported journal format " + version);
+                yield new JournalEntry.Header(new UUID(in.getLong(), in.getLong()), in.getLong(), in.getInt(), in.getInt());
+            }
+            case REGISTER -> new JournalEntry.Register(getString(in), getString(in), EVENT);
+            case REGISTER_BATCH -> new JournalEntry.Register(getString(in), getString(in), BATCH);
+            case REGISTER_WIRE -> new JournalEntry.Register(getString(in), getString(in), WIRE);
+            case REMOVE -> new JournalEntry.Remove(getString(in));
+            case START -> new JournalEntry.Start();
+            case PLAY_CARD -> {
+                var playerId = getString(in);
+                var card = Card.ofOrdinal(in.get());
+                byte color = in.get();
+                yield new JournalEntry.PlayCard(playerId, card, color == NO_COLOR ? null : COLORS[color]);
+            }
+            case DRAW -> new JournalEntry.Draw(getString(in));
+            case PASS -> new JournalEntry.Pass(getString(in));
+            default -> throw new IOException("Unknown journal entry " + tag);
+        };
+    }
+
+    /**
+     * Reads records until the end or the first incomplete or corrupted one, leaves position after the last valid.
+     */
+    private static List<JournalEntry> readEntries(ByteBuffer content, Path file) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        var crc = new CRC32();
+        while (content.remaining() >= FRAME_OVERHEAD) {
+            int start = content.position();
+            int length = content.getInt(start);
+            if (length <= 0 || length > content.remaining() - FRAME_OVERHEAD)
+                break;
+            var payload = content.slice(start + Integer.BYTES, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != content.getInt(start + Integer.BYTES + length))
+                break;
+            try {
+                entries.add(decode(payload));
+            } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+                throw new IOException("Malformed journal record at " + start + " in " + file, e);
+            }
+            content.position(start + length + FRAME_OVERHEAD);
+        }
+        if (entries.isEmpty() || !(entries.getFirst() instanceof JournalEntry.Header))
+            throw new IOException("Journal " + file + " does not start with a header.");
+        return entries;
+    }
+
+    /**
+     * @return whether the string fits into an entry, commands check their input with it before changing the game
+     */
+    public static boolean isEncodable(String value) {
+        return value.getBytes(StandardCharsets.UTF_8).length <= MAX_STRING_BYTES;
+    }
+
+    private static void putString(ByteBuffer out, String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_STRING_BYTES)
+            throw new IllegalArgumentException(
+                    "String of " + bytes.length + " bytes exceeds the journal limit of " + MAX_STRING_BYTES + " bytes."
+            );
+        out.putShort((short) bytes.length);
+        out.put(bytes);
+    }
+
+    private static String getString(ByteBuffer in) {
+        var bytes = new byte[Short.toUnsignedInt(in.getShort())];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public record Recovered(List<JournalEntry> entries, GameJournal journal) {
+    }
+
+    private record Waiter(long position, CompletableFuture<Void> future) {
+    }
+}
@@ -0,0 +1,49 @@
+package dev.cerios.maugame.mauengine.journal;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.Color;
+
+import java.util.UUID;
+
+/**
+ * Accepted command of a game, or the header describing how the game was created. Replaying all entries on a game
+ * created from the header rebuilds the same game.
+ */
+public sealed interface JournalEntry {
+
+    /**
+     * @param seed seed of the game's {@link java.util.Random}, which decides shuffling and the first player
+     */
+    record Header(UUID gameId, long seed, int minPlayers, int maxPlayers) implements JournalEntry {
+    }
+
+    /**
+     * @param listenerType kind of listener the player registered with, a restored player gets the same kind
+     */
+    record Register(String playerId, String username, ListenerType listenerType) implements JournalEntry {
+        public Register(String playerId, String username) {
+            this(playerId, username, ListenerType.EVENT);
+        }
+
+        public enum ListenerType {
+            EVENT,
+            BATCH,
+            WIRE
+        }
+    }
+
+    record Remove(String playerId) implements JournalEntry {
+    }
+
+    record Start() implements JournalEntry {
+    }
+
+    record PlayCard(String playerId, Card card, Color nextColor) implements JournalEntry {
+    }
+
+    record Draw(String playerId) implements JournalEntry {
+    }
+
+    record Pass(String playerId) implements JournalEntry {
+    }
+}
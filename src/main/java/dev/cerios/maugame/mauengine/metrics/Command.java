@@ -0,0 +1,11 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+/**
+ * Game commands with measured latency.
+ */
+public enum Command {
+    PLAY_CARD,
+    DRAW,
+    PASS,
+    REGISTER
+}
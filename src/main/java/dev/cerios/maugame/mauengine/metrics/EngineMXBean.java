@@ -0,0 +1,28 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+/**
+ * Live view of an engine exposed over JMX, see {@link dev.cerios.maugame.mauengine.game.GameFactory#registerMBean}.
+ * Every attribute is read from counters maintained as games change, no game is visited on a read.
+ */
+public interface EngineMXBean {
+    long getLobbyGames();
+
+    long getRunningGames();
+
+    long getFinishedGames();
+
+    long getConnectedPlayers();
+
+    /**
+     * @return turn timeouts scheduled on the turn timer, which might be shared with other factories
+     */
+    long getPendingTurnTimers();
+
+    double getMovesPerSecond();
+
+    double getAverageDispatchMicros();
+
+    double getMaxDispatchMicros();
+
+    long getLargestLobbyWaitMillis();
+}
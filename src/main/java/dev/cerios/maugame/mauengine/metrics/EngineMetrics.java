@@ -0,0 +1,186 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import dev.cerios.maugame.mauengine.exception.PlayerMoveException;
+import dev.cerios.maugame.mauengine.game.Stage;
+import dev.cerios.maugame.mauengine.game.action.Action;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory {@link MetricsSink} built from striped counters, meant to be shared by all games of an engine and read by
+ * a reporter or exported to a monitoring system.
+ */
+public final class EngineMetrics implements MetricsSink {
+    private static final Command[] COMMANDS = Command.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LatencyHistogram[] latencies = new LatencyHistogram[COMMANDS.length * PHASES.length];
+    private final LongAdder[] rejected = adders(COMMANDS.length);
+    private final LongAdder[] illegalMoves = adders(PlayerMoveException.Reason.values().length);
+    private final LongAdder[] dispatched = adders(Action.ActionType.values().length);
+    private final LongAdder[] games = adders(Stage.values().length);
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final RateMeter moveRate = new RateMeter();
+    private final LatencyHistogram listenerCalls = new LatencyHistogram();
+    private final LongAdder connectedPlayers = new LongAdder();
+    /**
+     * games in {@link Stage#LOBBY} ordered by the time they entered it, the first one waits the longest
+     */
+    private final Map<UUID, LobbyWait> lobbyWaits = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<LobbyWait> lobbyQueue = new ConcurrentSkipListSet<>(
+            Comparator.comparingLong(LobbyWait::since).thenComparing(LobbyWait::gameId)
+    );
+
+    public EngineMetrics() {
+        for (int i = 0; i < latencies.length; i++)
+            latencies[i] = new LatencyHistogram();
+    }
+
+    @Override
+    public void recordCommand(Command command, long lockWaitNanos, long coreNanos, long dispatchNanos) {
+        int base = command.ordinal() * PHASES.length;
+        latencies[base + Phase.LOCK_WAIT.ordinal()].record(lockWaitNanos);
+        latencies[base + Phase.CORE.ordinal()].record(coreNanos);
+        latencies[base + Phase.DISPATCH.ordinal()].record(dispatchNanos);
+    }
+
+    @Override
+    public void recordRejected(Command command, MauEngineBaseException cause) {
+        rejected[command.ordinal()].increment();
+        if (cause instanceof PlayerMoveException e)
+            illegalMoves[e.getReason().ordinal()].increment();
+    }
+
+    @Override
+    public void recordMove() {
+        moves.increment();
+        moveRate.record(System.nanoTime());
+    }
+
+    @Override
+    public void recordDispatched(Action.ActionType type) {
+        dispatched[type.ordinal()].increment();
+    }
+
+    @Override
+    public void recordListenerCall(long nanos) {
+        listenerCalls.record(nanos);
+    }
+
+    @Override
+    public void recordTimeout() {
+        timeouts.increment();
+    }
+
+    @Override
+    public void recordStageChange(UUID gameId, Stage from, Stage to) {
+        if (from != null)
+            games[from.ordinal()].decrement();
+        games[to.ordinal()].increment();
+        if (to == Stage.LOBBY) {
+            var wait = new LobbyWait(gameId, System.nanoTime());
+            lobbyWaits.put(gameId, wait);
+            lobbyQueue.add(wait);
+        } else if (from == Stage.LOBBY) {
+            endLobbyWait(gameId);
+        }
+    }
+
+    @Override
+    public void recordGameDiscarded(UUID gameId, Stage stage) {
+        games[stage.ordinal()].decrement();
+        if (stage == Stage.LOBBY)
+            endLobbyWait(gameId);
+    }
+
+    @Override
+    public void recordConnectedPlayers(int delta) {
+        connectedPlayers.add(delta);
+    }
+
+    public LatencyHistogram latency(Command command, Phase phase) {
+        return latencies[command.ordinal() * PHASES.length + phase.ordinal()];
+    }
+
+    /**
+     * @return commands rejected by an exception, including illegal moves
+     */
+    public long rejected(Command command) {
+        return rejected[command.ordinal()].sum();
+    }
+
+    public long illegalMoves(PlayerMoveException.Reason reason) {
+        return illegalMoves[reason.ordinal()].sum();
+    }
+
+    public long dispatched(Action.ActionType type) {
+        return dispatched[type.ordinal()].sum();
+    }
+
+    public long timeouts() {
+        return timeouts.sum();
+    }
+
+    public long moves() {
+        return moves.sum();
+    }
+
+    /**
+     * @return accepted moves per second averaged over the last {@value RateMeter#WINDOW_SECONDS} seconds
+     */
+    public double movesPerSecond() {
+        return moveRate.perSecond(System.nanoTime());
+    }
+
+    /**
+     * @return durations of player listener invocations
+     */
+    public LatencyHistogram listenerCalls() {
+        return listenerCalls;
+    }
+
+    public long connectedPlayers() {
+        return connectedPlayers.sum();
+    }
+
+    /**
+     * @return time the oldest game in {@link Stage#LOBBY} has been waiting for players, zero without lobby games
+     */
+    public Duration largestLobbyWait() {
+        var iterator = lobbyQueue.iterator();
+        if (!iterator.hasNext())
+            return Duration.ZERO;
+        return Duration.ofNanos(System.nanoTime() - iterator.next().since());
+    }
+
+    /**
+     * @return number of games currently in the stage, games stay counted in their last stage until they are discarded
+     */
+    public long games(Stage stage) {
+        return games[stage.ordinal()].sum();
+    }
+
+    private void endLobbyWait(UUID gameId) {
+        var wait = lobbyWaits.remove(gameId);
+        if (wait != null)
+            lobbyQueue.remove(wait);
+    }
+
+    private record LobbyWait(UUID gameId, long since) {
+    }
+
+    private static LongAdder[] adders(int count) {
+        var adders = new LongAdder[count];
+        for (int i = 0; i < count; i++)
+            adders[i] = new LongAdder();
+        return adders;
+    }
+}
@@ -0,0 +1,61 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import dev.cerios.maugame.mauengine.game.Stage;
+import dev.cerios.maugame.mauengine.timer.TurnTimer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@link EngineMXBean} backed by {@link EngineMetrics} of the engine and its {@link TurnTimer}.
+ */
+@RequiredArgsConstructor
+public final class EngineMonitor implements EngineMXBean {
+    private static final double NANOS_PER_MICRO = 1_000.0;
+
+    private final EngineMetrics metrics;
+    private final TurnTimer turnTimer;
+
+    @Override
+    public long getLobbyGames() {
+        return metrics.games(Stage.LOBBY);
+    }
+
+    @Override
+    public long getRunningGames() {
+        return metrics.games(Stage.RUNNING);
+    }
+
+    @Override
+    public long getFinishedGames() {
+        return metrics.games(Stage.FINISH);
+    }
+
+    @Override
+    public long getConnectedPlayers() {
+        return metrics.connectedPlayers();
+    }
+
+    @Override
+    public long getPendingTurnTimers() {
+        return turnTimer.pendingTimeouts();
+    }
+
+    @Override
+    public double getMovesPerSecond() {
+        return metrics.movesPerSecond();
+    }
+
+    @Override
+    public double getAverageDispatchMicros() {
+        return metrics.listenerCalls().meanNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public double getMaxDispatchMicros() {
+        return metrics.listenerCalls().maxNanos() / NANOS_PER_MICRO;
+    }
+
+    @Override
+    public long getLargestLobbyWaitMillis() {
+        return metrics.largestLobbyWait().toMillis();
+    }
+}
@@ -0,0 +1,74 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import dev.cerios.maugame.mauengine.exception.MauEngineBaseException;
+import dev.cerios.maugame.mauengine.game.Stage;
+import dev.cerios.maugame.mauengine.game.action.Action;
+
+import java.util.UUID;
+
+/**
+ * Receives measurements of the engine. Methods are invoked on game threads while the game lock is held, so
+ * implementations must be thread-safe and cheap, {@link EngineMetrics} is the in-memory implementation.
+ */
+public interface MetricsSink {
+    /**
+     * Disables measuring, the engine then does not even read the clock.
+     */
+    MetricsSink NONE = new MetricsSink() {
+    };
+
+    /**
+     * Called after every command, accepted or rejected.
+     */
+    default void recordCommand(Command command, long lockWaitNanos, long coreNanos, long dispatchNanos) {
+    }
+
+    /**
+     * Called when the command was rejected, before {@link #recordCommand}.
+     */
+    default void recordRejected(Command command, MauEngineBaseException cause) {
+    }
+
+    /**
+     * Called for every accepted move, including moves played by the takeover strategy.
+     */
+    default void recordMove() {
+    }
+
+    /**
+     * Called for every delivery of an action to a player.
+     */
+    default void recordDispatched(Action.ActionType type) {
+    }
+
+    /**
+     * Called after every invocation of a player's listener, a batch listener is invoked once per command.
+     */
+    default void recordListenerCall(long nanos) {
+    }
+
+    /**
+     * Called when a turn timer fired while the player was still on turn.
+     */
+    default void recordTimeout() {
+    }
+
+    /**
+     * Called when a game is created or restored, with {@code from} being {@code null}, and on every stage transition.
+     */
+    default void recordStageChange(UUID gameId, Stage from, Stage to) {
+    }
+
+    /**
+     * Called once the game was dropped by its owner, it is no longer counted in {@code stage}, its last stage.
+     */
+    default void recordGameDiscarded(UUID gameId, Stage stage) {
+    }
+
+    /**
+     * Called when the number of players of a game who are not replaced by the takeover strategy changes. Players of
+     * finished games are no longer counted.
+     */
+    default void recordConnectedPlayers(int delta) {
+    }
+}
@@ -0,0 +1,19 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+/**
+ * Parts of a command's latency, together they cover the whole command.
+ */
+public enum Phase {
+    /**
+     * waiting for the game lock
+     */
+    LOCK_WAIT,
+    /**
+     * validation and game logic, including publishing the new state
+     */
+    CORE,
+    /**
+     * invoking listeners of players, or enqueueing to them in asynchronous dispatch
+     */
+    DISPATCH
+}
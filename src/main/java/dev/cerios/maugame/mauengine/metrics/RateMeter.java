@@ -0,0 +1,52 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts events into a ring of one second slots, so the recent rate is read without keeping timestamps of single
+ * events. Events racing with reuse of a slot might get lost, which is acceptable for monitoring.
+ */
+final class RateMeter {
+    static final int WINDOW_SECONDS = 10;
+    private static final int SLOTS = 16;
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final AtomicLongArray slotSeconds = new AtomicLongArray(SLOTS);
+    private final LongAdder[] counts = new LongAdder[SLOTS];
+
+    RateMeter() {
+        for (int i = 0; i < SLOTS; i++) {
+            slotSeconds.set(i, UNUSED);
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long nanoTime) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nanoTime);
+        int slot = slot(second);
+        long slotSecond = slotSeconds.get(slot);
+        if (slotSecond != second && slotSeconds.compareAndSet(slot, slotSecond, second))
+            counts[slot].reset();
+        counts[slot].increment();
+    }
+
+    /**
+     * @return average rate over {@link #WINDOW_SECONDS} whole seconds preceding the current one
+     */
+    double perSecond(long nanoTime) {
+        long second = TimeUnit.NANOSECONDS.toSeconds(nanoTime);
+        long sum = 0;
+        for (long s = second - WINDOW_SECONDS; s < second; s++) {
+            int slot = slot(s);
+            if (slotSeconds.get(slot) == s)
+                sum += counts[slot].sum();
+        }
+        return sum / (double) WINDOW_SECONDS;
+    }
+
+    private static int slot(long second) {
+        return (int) (second & (SLOTS - 1));
+    }
+}
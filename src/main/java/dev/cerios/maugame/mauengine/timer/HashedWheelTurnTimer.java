@@ -0,0 +1,250 @@
+package dev.cerios.maugame.mauengine.timer;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hashed timing wheel. Scheduling and cancelling are O(1) and lock-free, a single worker thread advances the wheel
+ * every tick and hands expired tasks over to the task executor, so slow tasks never delay the wheel.
+ * Precision is bounded by the tick duration, which is plenty for turn timeouts measured in seconds.
+ */
+@Slf4j
+public final class HashedWheelTurnTimer implements TurnTimer, AutoCloseable {
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Executor taskExecutor;
+
+    private final Queue<WheelTimeout> additions = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pending = new AtomicLong();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick = 0;
+
+    public HashedWheelTurnTimer() {
+        this(100, TimeUnit.MILLISECONDS, 1024, task -> Thread.ofVirtual().start(task));
+    }
+
+    /**
+     * @param tickDuration duration of one wheel slot
+     * @param wheelSize    number of slots, rounded up to a power of two
+     * @param taskExecutor executes expired tasks
+     */
+    public HashedWheelTurnTimer(long tickDuration, TimeUnit unit, int wheelSize, Executor taskExecutor) {
+        if (tickDuration <= 0)
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        if (wheelSize <= 0 || wheelSize > 1 << 30)
+            throw new IllegalArgumentException("Wheel size must be in range (0, 2^30].");
+        this.tickNanos = unit.toNanos(tickDuration);
+        int size = 1;
+        while (size < wheelSize)
+            size <<= 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < wheel.length; i++)
+            wheel[i] = new Bucket();
+        this.mask = wheel.length - 1;
+        this.taskExecutor = taskExecutor;
+        this.worker = Thread.ofPlatform()
+                .name("turn-timer")
+                .daemon()
+                .start(this::run);
+    }
+
+    public static HashedWheelTurnTimer getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    @Override
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!running)
+            throw new IllegalStateException("Timer has been closed.");
+        var timeout = new WheelTimeout(task, System.nanoTime() - startNanos + unit.toNanos(delay));
+        pending.incrementAndGet();
+        additions.add(timeout);
+        return timeout;
+    }
+
+    @Override
+    public long pendingTimeouts() {
+        return pending.get();
+    }
+
+    public long expiredTimeouts() {
+        return expired.sum();
+    }
+
+    public long cancelledTimeouts() {
+        return cancelled.sum();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void run() {
+        while (running) {
+            if (!waitForNextTick())
+                break;
+            processCancellations();
+            transferAdditions();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private boolean waitForNextTick() {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long sleepNanos = deadline - (System.nanoTime() - startNanos);
+            if (sleepNanos <= 0)
+                return true;
+            try {
+                Thread.sleep(sleepNanos / 1_000_000, (int) (sleepNanos % 1_000_000));
+            } catch (InterruptedException e) {
+                if (!running)
+                    return false;
+            }
+        }
+    }
+
+    private void transferAdditions() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            var timeout = additions.poll();
+            if (timeout == null)
+                return;
+            if (timeout.state.get() == WheelTimeout.CANCELLED)
+                continue;
+            long calculated = timeout.deadline / tickNanos;
+            timeout.remainingRounds = (calculated - tick) / wheel.length;
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(timeout);
+        }
+    }
+
+    private void processCancellations() {
+        WheelTimeout timeout;
+        while ((timeout = cancellations.poll()) != null) {
+            if (timeout.bucket != null)
+                timeout.bucket.remove(timeout);
+        }
+    }
+
+    private final class WheelTimeout implements Timeout {
+        private static final int INIT = 0, CANCELLED = 1, EXPIRED = 2;
+
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(INIT);
+
+        // accessed by the worker thread only
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTimeout prev, next;
+
+        private WheelTimeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!state.compareAndSet(INIT, CANCELLED))
+                return false;
+            pending.decrementAndGet();
+            cancelled.increment();
+            cancellations.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        @Override
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(INIT, EXPIRED))
+                return;
+            pending.decrementAndGet();
+            expired.increment();
+            try {
+                taskExecutor.execute(task);
+            } catch (RuntimeException e) {
+                log.warn("Failed to execute expired timeout.", e);
+            }
+        }
+    }
+
+    /**
+     * Doubly linked list of timeouts, accessed by the worker thread only.
+     */
+    private static final class Bucket {
+        private WheelTimeout head, tail;
+
+        private void add(WheelTimeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.prev = tail;
+                tail = timeout;
+            }
+        }
+
+        private void expireTimeouts() {
+            var timeout = head;
+            while (timeout != null) {
+                var next = timeout.next;
+                if (timeout.remainingRounds <= 0) {
+                    remove(timeout);
+                    timeout.expire();
+                } else if (timeout.isCancelled()) {
+                    remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(WheelTimeout timeout) {
+            if (timeout.bucket != this)
+                return;
+            if (timeout.prev != null)
+                timeout.prev.next = timeout.next;
+            if (timeout.next != null)
+                timeout.next.prev = timeout.prev;
+            if (timeout == head)
+                head = timeout.next;
+            if (timeout == tail)
+                tail = timeout.prev;
+            timeout.prev = timeout.next = null;
+            timeout.bucket = null;
+        }
+    }
+
+    private static final class DefaultHolder {
+        private static final HashedWheelTurnTimer INSTANCE = new HashedWheelTurnTimer();
+    }
+}
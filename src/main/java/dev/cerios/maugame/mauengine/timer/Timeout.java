@@ -0,0 +1,12 @@
+package dev.cerios.maugame.mauengine.timer;
+
+public interface Timeout {
+    /**
+     * @return {@code true} if the task was prevented from running by this call
+     */
+    boolean cancel();
+
+    boolean isCancelled();
+
+    boolean isExpired();
+}
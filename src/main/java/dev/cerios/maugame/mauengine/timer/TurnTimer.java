@@ -0,0 +1,18 @@
+package dev.cerios.maugame.mauengine.timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules turn timeouts. A single instance is meant to be shared by all games of a {@code GameFactory}.
+ */
+public interface TurnTimer {
+    /**
+     * Schedules the task to run once after the delay. Task may run on an arbitrary thread.
+     */
+    Timeout schedule(Runnable task, long delay, TimeUnit unit);
+
+    /**
+     * @return number of scheduled timeouts which neither expired nor were cancelled yet
+     */
+    long pendingTimeouts();
+}
@@ -0,0 +1,74 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+import dev.cerios.maugame.mauengine.game.GameSimulator;
+import dev.cerios.maugame.mauengine.game.LegalMoves;
+import dev.cerios.maugame.mauengine.game.effect.DrawEffect;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+
+import static dev.cerios.maugame.mauengine.card.CardType.*;
+import static dev.cerios.maugame.mauengine.card.Color.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IsmctsStrategyTest {
+    private final IsmctsStrategy strategy = new IsmctsStrategy(500, Duration.ofSeconds(10));
+
+    @Test
+    void shouldPlayLastCard() {
+        // setup
+        var king = new Card(KING, HEARTS);
+        var informationSet = new InformationSet(
+                CardSet.bit(king),
+                new Card(NINE, HEARTS),
+                null,
+                null,
+                new LegalMoves(CardSet.bit(king), true, false),
+                new int[]{3},
+                20,
+                CardSet.EMPTY
+        );
+
+        // when
+        var move = strategy.chooseMove(informationSet, new Random(1));
+
+        // then
+        assertThat(move).isEqualTo(new Move.PlayCard(king));
+    }
+
+    @Test
+    void whenNothingToPlay_thenPassWithoutSearch() {
+        // setup
+        var hand = CardSet.bit(new Card(KING, HEARTS)) | CardSet.bit(new Card(NINE, CLUBS));
+        var informationSet = new InformationSet(
+                hand,
+                new Card(SEVEN, HEARTS),
+                null,
+                new DrawEffect(2),
+                new LegalMoves(CardSet.EMPTY, false, true),
+                new int[]{3, 5},
+                15,
+                CardSet.bit(new Card(EIGHT, SPADES))
+        );
+
+        // when
+        var move = new IsmctsStrategy(1, Duration.ZERO).chooseMove(informationSet, new Random(1));
+
+        // then
+        assertThat(move).isSameAs(Move.PASS);
+    }
+
+    @Test
+    void shouldBeatRandomPlayer() {
+        // when
+        var result = new GameSimulator().run(List.of(strategy, new RandomStrategy()), 100, 5);
+
+        // then
+        assertThat(result.failed()).isZero();
+        assertThat(result.seats().getFirst().wins()).isGreaterThan(80);
+    }
+}
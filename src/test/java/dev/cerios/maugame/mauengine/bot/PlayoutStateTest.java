@@ -0,0 +1,78 @@
+package dev.cerios.maugame.mauengine.bot;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.card.CardSet;
+import org.junit.jupiter.api.Test;
+
+import static dev.cerios.maugame.mauengine.card.CardType.*;
+import static dev.cerios.maugame.mauengine.card.Color.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayoutStateTest {
+
+    @Test
+    void sevensShouldStackIntoDrawPenalty() {
+        // setup
+        var state = state(
+                CardSet.bit(new Card(SEVEN, HEARTS)) | CardSet.bit(new Card(KING, CLUBS)),
+                CardSet.bit(new Card(SEVEN, CLUBS)) | CardSet.bit(new Card(NINE, SPADES)),
+                CardSet.bit(new Card(EIGHT, DIAMONDS)) | CardSet.bit(new Card(TEN, DIAMONDS))
+        );
+        int[] moves = new int[PlayoutState.MAX_MOVES];
+
+        // when
+        state.apply(PlayoutState.play(new Card(SEVEN, HEARTS), null));
+        int count = state.legalMoves(moves);
+        state.apply(PlayoutState.play(new Card(SEVEN, CLUBS), null));
+        state.apply(PlayoutState.PASS);
+
+        // then
+        assertThat(count).isEqualTo(2);
+        assertThat(Integer.bitCount(state.hands[2])).isEqualTo(6);
+        assertThat(state.current()).isZero();
+        assertThat(state.legalMoves(moves)).isEqualTo(2);
+    }
+
+    @Test
+    void lastTwoSeatsShouldEndTheGame() {
+        // setup
+        var state = state(
+                CardSet.bit(new Card(KING, HEARTS)),
+                CardSet.bit(new Card(NINE, SPADES))
+        );
+
+        // when
+        state.apply(PlayoutState.play(new Card(KING, HEARTS), null));
+
+        // then
+        assertThat(state.isOver()).isTrue();
+        assertThat(state.reward(0)).isEqualTo(1.0);
+        assertThat(state.reward(1)).isEqualTo(0.0);
+    }
+
+    @Test
+    void queenShouldRequestColor() {
+        // setup
+        var state = state(
+                CardSet.bit(new Card(QUEEN, SPADES)) | CardSet.bit(new Card(KING, HEARTS)),
+                CardSet.bit(new Card(NINE, HEARTS)) | CardSet.bit(new Card(NINE, CLUBS))
+        );
+
+        // when
+        state.apply(PlayoutState.play(new Card(QUEEN, SPADES), CLUBS));
+
+        // then
+        assertThat(state.playableMask()).isEqualTo(CardSet.bit(new Card(NINE, CLUBS)));
+        assertThat(PlayoutState.toMove(PlayoutState.play(new Card(QUEEN, SPADES), CLUBS)))
+                .isEqualTo(new Move.PlayCard(new Card(QUEEN, SPADES), CLUBS));
+    }
+
+    private static PlayoutState state(int... hands) {
+        var state = new PlayoutState(hands.length);
+        System.arraycopy(hands, 0, state.hands, 0, hands.length);
+        state.reset(new Card(EIGHT, HEARTS), null, null);
+        for (var card : CardSet.toList(CardSet.colorMask(DIAMONDS) & ~hands[hands.length - 1]))
+            state.addToDeck(card.ordinal());
+        return state;
+    }
+}
@@ -10,6 +10,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.*;
 
 import static dev.cerios.maugame.mauengine.TestUtils.getField;
+import static dev.cerios.maugame.mauengine.TestUtils.setField;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.*;
@@ -70,9 +71,7 @@ class CardManagerTest {
         assertThat(cardManager.deckSize()).isEqualTo(4);
         assertThat(drawnCard).isEqualTo(new Card(CardType.QUEEN, Color.HEARTS));
         assertThat(
-                ((Queue<Card>) getField(cardManager, "deck"))
-                        .stream()
-                        .toList()
+                ((CardRing) getField(cardManager, "deck")).toList()
         )
                 .containsExactly(
                         new Card(CardType.SEVEN, Color.SPADES),
@@ -96,9 +95,7 @@ class CardManagerTest {
                 new Card(CardType.NINE, Color.HEARTS)
         );
         assertThat(
-                ((Queue<Card>) getField(cardManager, "deck"))
-                        .stream()
-                        .toList()
+                ((CardRing) getField(cardManager, "deck")).toList()
         )
                 .containsExactly(
                         new Card(CardType.KING, Color.CLUBS)
@@ -144,7 +141,7 @@ class CardManagerTest {
 
         // then
         assertThat(canBePlayed).isTrue();
-        assertThat(((Queue<Card>) getField(cardManager, "deck")).stream())
+        assertThat(((CardRing) getField(cardManager, "deck")).toList())
                 .containsExactly(
                         new Card(CardType.EIGHT, Color.DIAMONDS),
                         new Card(CardType.NINE, Color.HEARTS),
@@ -156,6 +153,26 @@ class CardManagerTest {
         verify(comparer).clear();
     }
 
+    @Test
+    void playedCardShouldBeReturnedUntilDrawnAgain() throws Exception {
+        // setup
+        Card pileCard = cardManager.startPile();
+        Card cardToPlay = cardManager.draw();
+        when(comparer.compare(pileCard, cardToPlay)).thenReturn(true);
+
+        // when
+        cardManager.playCard(cardToPlay, null);
+
+        // then
+        assertThat(cardManager.returnedCards()).isEqualTo(CardSet.bit(pileCard));
+
+        // when
+        cardManager.draw(4);
+
+        // then
+        assertThat(cardManager.returnedCards()).isEqualTo(CardSet.EMPTY);
+    }
+
     @Test
     void whenPlayInvalidCard_thenDontUpdate() throws Exception {
         // setup
@@ -169,7 +186,7 @@ class CardManagerTest {
 
         // then
         assertThat(canBePlayed).isFalse();
-        assertThat(((Queue<Card>) getField(cardManager, "deck")).stream())
+        assertThat(((CardRing) getField(cardManager, "deck")).toList())
                 .containsExactly(
                         new Card(CardType.EIGHT, Color.DIAMONDS),
                         new Card(CardType.NINE, Color.HEARTS),
@@ -241,7 +258,7 @@ class CardManagerTest {
 
         // then
         cardManager.shuffleRemaining();
-        assertThat(((Queue<Card>) getField(cardManager, "deck")).stream())
+        assertThat(((CardRing) getField(cardManager, "deck")).toList())
                 .containsExactlyInAnyOrder(
                         new Card(CardType.QUEEN, Color.HEARTS),
                         new Card(CardType.SEVEN, Color.SPADES),
@@ -268,7 +285,7 @@ class CardManagerTest {
 
         // than
         cardManager.shuffleRemaining();
-        assertThat(((Queue<Card>) getField(cardManager, "deck")).stream())
+        assertThat(((CardRing) getField(cardManager, "deck")).toList())
                 .containsExactlyInAnyOrder(
                         new Card(CardType.SEVEN, Color.SPADES),
                         new Card(CardType.EIGHT, Color.DIAMONDS),
@@ -288,7 +305,7 @@ class CardManagerTest {
     void factoryIncludesFullSetOfCards() throws Exception {
         // when
         var created = CardManager.create(new Random(878), comparer);
-        var cardSet = new HashSet<>(((Queue<Card>) getField(created, "deck")));
+        var cardSet = new HashSet<>(((CardRing) getField(created, "deck")).toList());
 
         // then
         Set<Card> expected = new HashSet<>();
@@ -312,35 +329,18 @@ class CardManagerTest {
     }
 
     @Test
-    void testCardMultiplicationHandledCorrectly() throws Exception {
+    void whenCardManagerInitializedWithDuplicateCards_thenThrow() {
         // setup
-        var manager = new CardManager(
-                List.of(
-                        new Card(CardType.JACK, Color.CLUBS),
-                        new Card(CardType.JACK, Color.CLUBS),
-                        new Card(CardType.JACK, Color.CLUBS)
-                ),
-                new Random(121),
-                comparer
+        var cards = List.of(
+                new Card(CardType.JACK, Color.CLUBS),
+                new Card(CardType.SEVEN, Color.HEARTS),
+                new Card(CardType.JACK, Color.CLUBS)
         );
-        manager.startPile();
-        @SuppressWarnings("unchecked")
-        var floatingCards = (Map<Card, Integer>) getField(manager, "floatingCards");
-        when(comparer.compare(any(Card.class), any(Card.class))).thenReturn(true);
 
         // when, then
-        manager.draw();
-        assertThat(floatingCards).containsOnlyKeys(new Card(CardType.JACK, Color.CLUBS));
-        assertThat(floatingCards.get(new Card(CardType.JACK, Color.CLUBS))).isEqualTo(1);
-        manager.draw();
-        assertThat(floatingCards.get(new Card(CardType.JACK, Color.CLUBS))).isEqualTo(2);
-        manager.playCard(new Card(CardType.JACK, Color.CLUBS), null);
-        assertThat(floatingCards.get(new Card(CardType.JACK, Color.CLUBS))).isEqualTo(1);
-        manager.playCard(new Card(CardType.JACK, Color.CLUBS), null);
-        assertThat(floatingCards).isEmpty();
-        // third card is not in the game
-        assertThatThrownBy(() -> manager.playCard(new Card(CardType.JACK, Color.CLUBS), null))
-                .isInstanceOf(CardException.class);
+        assertThatThrownBy(() -> new CardManager(cards, new Random(121), comparer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("unique");
     }
 
     @Test
@@ -348,14 +348,11 @@ class CardManagerTest {
         // setup
         cardManager.startPile();
         var card = cardManager.draw();
-        @SuppressWarnings("unchecked")
-        var floatingCards = (Map<Card,Integer>) getField(cardManager, "floatingCards");
-        when(comparer.compare(any(Card.class), any(Card.class))).thenReturn(true);
 
-        floatingCards.put(card, 0);
+        setField(cardManager, "floatingCards", CardSet.EMPTY);
 
         // when
-        assertThatThrownBy(() -> cardManager.playCard(card, null))
+        assertThatThrownBy(() -> cardManager.addToDeck(List.of(card)))
                 .isInstanceOf(IllegalStateException.class);
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package dev.cerios.maugame.mauengine.card;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static dev.cerios.maugame.mauengine.card.CardType.*;
+import static dev.cerios.maugame.mauengine.card.Color.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CardSetTest {
+
+    @Test
+    void ordinalsShouldCoverWholeDeckUniquely() {
+        // setup
+        Set<Integer> ordinals = new HashSet<>();
+
+        // when
+        for (Color color : Color.values()) {
+            for (CardType type : CardType.values()) {
+                var card = new Card(type, color);
+                ordinals.add(card.ordinal());
+                assertThat(Card.ofOrdinal(card.ordinal())).isEqualTo(card);
+            }
+        }
+
+        // then
+        assertThat(ordinals).hasSize(Card.DECK_SIZE);
+        assertThat(ordinals).allMatch(o -> o >= 0 && o < Card.DECK_SIZE);
+        assertThat(CardSet.ALL).isEqualTo(-1);
+    }
+
+    @Test
+    void shouldAddContainAndRemoveCards() {
+        // setup
+        var set = new CardSet();
+
+        // when
+        var added = set.add(new Card(KING, HEARTS));
+        var addedAgain = set.add(new Card(KING, HEARTS));
+        set.add(new Card(SEVEN, CLUBS));
+
+        // then
+        assertThat(added).isTrue();
+        assertThat(addedAgain).isFalse();
+        assertThat(set).hasSize(2);
+        assertThat(set.contains(new Card(KING, HEARTS))).isTrue();
+        assertThat(set.contains(new Card(KING, SPADES))).isFalse();
+        assertThat(set.remove(new Card(KING, HEARTS))).isTrue();
+        assertThat(set.remove(new Card(KING, HEARTS))).isFalse();
+        assertThat(set).containsExactly(new Card(SEVEN, CLUBS));
+    }
+
+    @Test
+    void shouldIterateInOrdinalOrder() {
+        // setup
+        var set = new CardSet();
+        set.add(new Card(ACE, SPADES));
+        set.add(new Card(SEVEN, DIAMONDS));
+        set.add(new Card(TEN, DIAMONDS));
+
+        // when, then
+        assertThat(set.toList()).containsExactly(
+                new Card(SEVEN, DIAMONDS),
+                new Card(TEN, DIAMONDS),
+                new Card(ACE, SPADES)
+        );
+    }
+
+    @Test
+    void colorAndTypeMasksShouldMatchCards() {
+        // when
+        var hearts = new CardSet(CardSet.colorMask(HEARTS));
+        var queens = new CardSet(CardSet.typeMask(QUEEN));
+
+        // then
+        assertThat(hearts).hasSize(Card.TYPE_COUNT).allMatch(card -> card.color() == HEARTS);
+        assertThat(queens).hasSize(Card.COLOR_COUNT).allMatch(card -> card.type() == QUEEN);
+        assertThat(CardSet.colorMask(HEARTS) & CardSet.typeMask(QUEEN)).isEqualTo(CardSet.bit(new Card(QUEEN, HEARTS)));
+    }
+}
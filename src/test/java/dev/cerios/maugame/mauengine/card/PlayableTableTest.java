@@ -0,0 +1,51 @@
+package dev.cerios.maugame.mauengine.card;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static dev.cerios.maugame.mauengine.card.CardType.*;
+import static dev.cerios.maugame.mauengine.card.Color.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PlayableTableTest {
+
+    @Test
+    void tableShouldMatchCardRules() {
+        // setup
+        List<Color> requestedColors = new ArrayList<>(List.of(Color.values()));
+        requestedColors.add(null);
+
+        for (Card pileCard : CardManager.STANDARD_DECK) {
+            for (Color requested : requestedColors) {
+                // when
+                int mask = PlayableTable.playable(pileCard, requested);
+
+                // then
+                for (Card card : CardManager.STANDARD_DECK) {
+                    boolean expected = card.type() == QUEEN || (requested != null
+                            ? card.color() == requested
+                            : card.color() == pileCard.color() || card.type() == pileCard.type());
+                    assertThat((mask & CardSet.bit(card)) != 0)
+                            .as("%s on %s with requested %s", card, pileCard, requested)
+                            .isEqualTo(expected);
+                }
+            }
+        }
+    }
+
+    @Test
+    void comparerShouldRespectRequestedColor() {
+        // setup
+        var comparer = new CardComparer();
+        comparer.setNextColor(SPADES);
+
+        // when, then
+        assertThat(comparer.compare(new Card(QUEEN, HEARTS), new Card(SEVEN, SPADES))).isTrue();
+        assertThat(comparer.compare(new Card(QUEEN, HEARTS), new Card(SEVEN, HEARTS))).isFalse();
+        assertThat(comparer.compare(new Card(QUEEN, HEARTS), new Card(QUEEN, CLUBS))).isTrue();
+        comparer.clear();
+        assertThat(comparer.compare(new Card(QUEEN, HEARTS), new Card(SEVEN, HEARTS))).isTrue();
+    }
+}
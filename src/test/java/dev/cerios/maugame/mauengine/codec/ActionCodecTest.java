@@ -0,0 +1,158 @@
+package dev.cerios.maugame.mauengine.codec;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import dev.cerios.maugame.mauengine.game.Game;
+import dev.cerios.maugame.mauengine.game.GameFactory;
+import dev.cerios.maugame.mauengine.game.LegalMoves;
+import dev.cerios.maugame.mauengine.game.Player;
+import dev.cerios.maugame.mauengine.game.action.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static dev.cerios.maugame.mauengine.card.CardType.*;
+import static dev.cerios.maugame.mauengine.card.Color.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ActionCodecTest {
+
+    private Game game;
+    private Player jose;
+    private Player juan;
+    private PlayerDirectory directory;
+    private final ByteBuffer buffer = ByteBuffer.allocate(512);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        game = new GameFactory(new Random(1)).createGame(2, 4);
+        jose = game.registerPlayer("jose", (p, a) -> {});
+        juan = game.registerPlayer("juan ♥", (p, a) -> {});
+        var bySlot = Map.of(jose.getSlot(), jose, juan.getSlot(), juan);
+        directory = bySlot::get;
+    }
+
+    @Test
+    void everyActionTypeShouldRoundTrip() {
+        // setup
+        var rank = List.of("juan ♥", "jose");
+        List<Action> actions = List.of(
+                new RegisterAction(game.getUuid(), jose, true),
+                new ActivateAction(jose),
+                new DeactivateAction(juan),
+                new PlayCardAction(jose, new Card(QUEEN, SPADES), HEARTS),
+                new DrawAction(List.of(new Card(SEVEN, DIAMONDS), new Card(ACE, SPADES))),
+                new HiddenDrawAction(juan, 3),
+                new PassAction(jose),
+                new PlayerShiftAction(juan, 1_760_000_000_000L),
+                new StartAction(game.getUuid().toString()),
+                new EndAction(rank),
+                new WinAction(jose),
+                new LoseAction(juan),
+                new SendRankAction(rank),
+                new PlayersAction(List.of(jose, juan)),
+                new StartPileAction(new Card(TEN, CLUBS)),
+                new RemovePlayerAction(juan, 4)
+        );
+        Set<Action.ActionType> covered = EnumSet.of(Action.ActionType.DISQUALIFIED);
+
+        for (Action action : actions) {
+            // when
+            var decoded = roundTrip(action);
+
+            // then
+            assertThat(decoded).isEqualTo(action);
+            assertThat(buffer.hasRemaining()).isFalse();
+            covered.add(action.getType());
+        }
+        assertThat(roundTrip(new DisqualifiedAction())).isInstanceOf(DisqualifiedAction.class);
+        assertThat(covered).containsExactlyInAnyOrder(Action.ActionType.values());
+    }
+
+    @Test
+    void playerShiftShouldKeepExpireTimeAndLegalMoves() {
+        // setup
+        var moves = new LegalMoves(-1, true, false);
+        var action = new PlayerShiftAction(jose, 1_760_000_061_000L, moves);
+
+        // when
+        var decoded = (PlayerShiftAction) roundTrip(action);
+
+        // then
+        assertThat(decoded.getExpireAtMs()).isEqualTo(action.getExpireAtMs());
+        assertThat(decoded.getLegalMoves()).isEqualTo(moves);
+        assertThat(((PlayerShiftAction) roundTrip(new PlayerShiftAction(jose, 0))).getLegalMoves()).isNull();
+    }
+
+    @Test
+    void playCardWithoutColorShouldTakeTwoBytesAfterTag() {
+        // setup
+        var action = new PlayCardAction(juan, new Card(KING, HEARTS));
+
+        // when
+        ActionCodec.encode(action, buffer);
+
+        // then
+        assertThat(buffer.position()).isEqualTo(3);
+        buffer.flip();
+        assertThat(ActionCodec.decode(buffer, directory)).isEqualTo(action);
+    }
+
+    @Test
+    void registrationOfOtherPlayerShouldOmitPlayerId() {
+        // setup
+        List<String> announcedIds = new ArrayList<>();
+        PlayerDirectory announcing = new PlayerDirectory() {
+            @Override
+            public Player bySlot(int slot) {
+                return directory.bySlot(slot);
+            }
+
+            @Override
+            public Player announce(int slot, String playerId, String username) {
+                announcedIds.add(playerId);
+                return bySlot(slot);
+            }
+        };
+
+        // when
+        ActionCodec.encode(new RegisterAction(game.getUuid(), jose, false), buffer);
+        ActionCodec.encode(new RegisterAction(game.getUuid(), jose, true), buffer);
+        buffer.flip();
+        ActionCodec.decode(buffer, announcing);
+        ActionCodec.decode(buffer, announcing);
+
+        // then
+        assertThat(announcedIds).containsExactly(null, jose.getPlayerId());
+    }
+
+    @Test
+    void unknownSlotShouldFailDecoding() {
+        // setup
+        ActionCodec.encode(new WinAction(juan), buffer);
+        buffer.flip();
+
+        // when, then
+        assertThatThrownBy(() -> ActionCodec.decode(buffer, slot -> null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void unseatedPlayerShouldNotBeEncoded() {
+        // setup
+        var unseated = new Player("id", "nobody", (p, a) -> {});
+
+        // when, then
+        assertThatThrownBy(() -> ActionCodec.encode(new PassAction(unseated), buffer))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Action roundTrip(Action action) {
+        buffer.clear();
+        ActionCodec.encode(action, buffer);
+        buffer.flip();
+        return ActionCodec.decode(buffer, directory);
+    }
+}
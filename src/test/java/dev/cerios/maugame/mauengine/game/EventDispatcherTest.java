@@ -0,0 +1,106 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.game.action.Action;
+import dev.cerios.maugame.mauengine.game.action.PassAction;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.stream.IntStream;
+
+import static dev.cerios.maugame.mauengine.TestUtils.VOID_LISTENER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventDispatcherTest {
+
+    private static final EventDispatcher.Resync NO_RESYNC = (p, captured) -> captured.run();
+
+    private final Player player = new Player("1", "jose", VOID_LISTENER);
+
+    @Test
+    void whenSyncListenerThrows_thenPropagateAndCount() {
+        // setup
+        var stats = new DispatchStats();
+        var dispatcher = new EventDispatcher(DispatchMode.SYNC, 0, stats, NO_RESYNC);
+        var listener = dispatcher.wrap("jose", (p, a) -> {
+            throw new IllegalStateException("socket closed");
+        });
+
+        // when, then
+        assertThatThrownBy(() -> listener.accept(player, new PassAction(player)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("socket closed");
+        assertThat(stats.getFailed()).isOne();
+        assertThat(stats.getDelivered()).isZero();
+    }
+
+    @Test
+    void asyncListenerShouldReceiveActionsInOrderOnAnotherThread() throws Exception {
+        // setup
+        var stats = new DispatchStats();
+        var dispatcher = new EventDispatcher(DispatchMode.ASYNC, 100, stats, NO_RESYNC);
+        List<Action> received = new CopyOnWriteArrayList<>();
+        var latch = new CountDownLatch(50);
+        var caller = Thread.currentThread();
+        var listener = dispatcher.wrap("jose", (p, a) -> {
+            assertThat(Thread.currentThread()).isNotSameAs(caller);
+            received.add(a);
+            latch.countDown();
+        });
+        var actions = IntStream.range(0, 50).<Action>mapToObj(i -> new PassAction(player)).toList();
+
+        // when
+        actions.forEach(a -> listener.accept(player, a));
+
+        // then
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactlyElementsOf(actions);
+        assertThat(stats.getDelivered()).isEqualTo(50);
+        assertThat(stats.getFailed()).isZero();
+    }
+
+    @Test
+    void whenAsyncQueueFull_thenDropAndResync() throws Exception {
+        // setup
+        var stats = new DispatchStats();
+        var resynced = new CountDownLatch(1);
+        List<Action> received = new CopyOnWriteArrayList<>();
+        var fullState = new PassAction(player);
+        var wrapped = new AtomicReference<BiConsumer<Player, Action>>();
+        var dispatcher = new EventDispatcher(DispatchMode.ASYNC, 1, stats, (p, captured) -> {
+            captured.run();
+            wrapped.get().accept(p, fullState);
+            resynced.countDown();
+        });
+        var blocker = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+        var listener = dispatcher.wrap("jose", (p, a) -> {
+            received.add(a);
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        wrapped.set(listener);
+
+        // when
+        listener.accept(player, new PassAction(player));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        listener.accept(player, new PassAction(player));
+        listener.accept(player, new PassAction(player));
+        listener.accept(player, new PassAction(player));
+        blocker.countDown();
+
+        // then
+        assertThat(resynced.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(stats.getDropped()).isEqualTo(2);
+        assertThat(received).hasSize(3).last().isSameAs(fullState);
+    }
+}
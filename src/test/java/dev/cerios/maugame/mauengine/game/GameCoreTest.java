@@ -2,6 +2,7 @@ package dev.cerios.maugame.mauengine.game;
 
 import dev.cerios.maugame.mauengine.card.Card;
 import dev.cerios.maugame.mauengine.card.CardManager;
+import dev.cerios.maugame.mauengine.card.CardSet;
 import dev.cerios.maugame.mauengine.exception.CardException;
 import dev.cerios.maugame.mauengine.exception.GameException;
 import dev.cerios.maugame.mauengine.exception.PlayerMoveException;
@@ -594,4 +595,77 @@ class GameCoreTest {
         assertThat(jose.getHand()).containsExactly(playCard);
         assertThat(gameCore.getGameEffect()).isEqualTo(skipEffect);
     }
+
+    @Test
+    void legalMovesShouldContainPlayableCardsAndBeCachedPerTurn() throws Exception {
+        // setup
+        final var jose = new Player("1", "jose", VOID_LISTENER);
+        jose.getHand().addAll(List.of(new Card(SEVEN, CLUBS), new Card(TEN, HEARTS), new Card(ACE, SPADES)));
+        when(playerManager.currentPlayer()).thenReturn(jose);
+        when(playerManager.getTurn()).thenReturn(3);
+        when(cardManager.playableMask()).thenReturn(CardSet.colorMask(CLUBS));
+        when(cardManager.deckSize()).thenReturn(10);
+        stage.set(RUNNING);
+
+        // when
+        var moves = gameCore.legalMoves(jose);
+        var cachedMoves = gameCore.legalMoves(jose);
+
+        // then
+        assertThat(moves.playableCards()).containsExactly(new Card(SEVEN, CLUBS));
+        assertThat(moves.canDraw()).isTrue();
+        assertThat(moves.canPass()).isFalse();
+        assertThat(cachedMoves).isSameAs(moves);
+        verify(cardManager, times(1)).playableMask();
+    }
+
+    @Test
+    void legalMovesShouldRespectActiveEffect() throws Exception {
+        // setup
+        final var jose = new Player("1", "jose", VOID_LISTENER);
+        jose.getHand().addAll(List.of(new Card(SEVEN, CLUBS), new Card(ACE, CLUBS)));
+        when(playerManager.currentPlayer()).thenReturn(jose);
+        when(cardManager.playableMask()).thenReturn(CardSet.ALL);
+        stage.set(RUNNING);
+        setField(gameCore, GAME_EFFECT_FIELD, new SkipEffect());
+
+        // when
+        var moves = gameCore.legalMoves(jose);
+
+        // then
+        assertThat(moves.playableCards()).containsExactly(new Card(ACE, CLUBS));
+        assertThat(moves.canDraw()).isFalse();
+        assertThat(moves.canPass()).isTrue();
+    }
+
+    @Test
+    void whenDeckCannotCoverDrawEffect_thenPassIsNotLegal() throws Exception {
+        // setup
+        final var jose = new Player("1", "jose", VOID_LISTENER);
+        jose.getHand().add(new Card(ACE, CLUBS));
+        when(playerManager.currentPlayer()).thenReturn(jose);
+        when(cardManager.playableMask()).thenReturn(CardSet.ALL);
+        when(cardManager.deckSize()).thenReturn(3);
+        stage.set(RUNNING);
+        setField(gameCore, GAME_EFFECT_FIELD, new DrawEffect(4));
+
+        // when
+        var moves = gameCore.legalMoves(jose);
+
+        // then
+        assertThat(moves.playableCards()).isEmpty();
+        assertThat(moves.canDraw()).isFalse();
+        assertThat(moves.canPass()).isFalse();
+    }
+
+    @Test
+    void whenPlayerNotOnTurn_thenNoLegalMoves() {
+        // setup
+        final var jose = new Player("1", "jose", VOID_LISTENER);
+        when(playerManager.currentPlayer()).thenReturn(new Player("2", "juan", VOID_LISTENER));
+        stage.set(RUNNING);
+
+        // when, then
+        assertThat(gameCore.legalMoves(jose)).isSameAs(LegalMoves.NONE);
+    }
 }
@@ -0,0 +1,173 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.metrics.EngineMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static dev.cerios.maugame.mauengine.TestUtils.VOID_LISTENER;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GameRegistryTest {
+
+    private GameRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new GameRegistry(new GameFactory(new Random(7)));
+    }
+
+    @Test
+    void shouldIndexCreatedGameByUuidAndCapacity() {
+        // when
+        var game = registry.createGame(2, 3);
+
+        // then
+        assertThat(registry.getGame(game.getUuid())).containsSame(game);
+        assertThat(registry.findLobbyGame(3)).containsSame(game);
+        assertThat(registry.findLobbyGame(4)).isEmpty();
+        assertThat(registry.lobbySize()).isOne();
+    }
+
+    @Test
+    void shouldPreferFullestGameWithEnoughRoom() throws Exception {
+        // setup
+        var emptyGame = registry.createGame(2, 3);
+        var fullerGame = registry.createGame(2, 3);
+
+        // when
+        fullerGame.registerPlayer("joe", VOID_LISTENER);
+
+        // then
+        assertThat(registry.findLobbyGame(1)).containsSame(fullerGame);
+        assertThat(registry.findLobbyGame(3)).containsSame(emptyGame);
+    }
+
+    @Test
+    void whenGameMovesBetweenCapacities_thenStaleSlotIsSkipped() throws Exception {
+        // setup
+        var movedGame = registry.createGame(2, 3);
+        var waitingGame = registry.createGame(2, 3);
+        var joe = movedGame.registerPlayer("joe", VOID_LISTENER);
+
+        // when
+        movedGame.removePlayer(joe.getPlayerId());
+
+        // then
+        assertThat(registry.findLobbyGame(3)).containsSame(waitingGame);
+        assertThat(registry.findLobbyGame(2)).containsSame(waitingGame);
+        assertThat(registry.lobbySize()).isEqualTo(2);
+
+        // when
+        waitingGame.registerPlayer("juan", VOID_LISTENER);
+        waitingGame.registerPlayer("pedro", VOID_LISTENER);
+        waitingGame.registerPlayer("jose", VOID_LISTENER);
+
+        // then
+        assertThat(registry.findLobbyGame(1)).containsSame(movedGame);
+        assertThat(registry.lobbySize()).isOne();
+    }
+
+    @Test
+    void whenMoreSeatsThanIndexedAreRequested_thenCheckFreeCapacity() throws Exception {
+        // setup
+        registry = new GameRegistry(new GameFactory(new Random(7)), 2);
+        var smallGame = registry.createGame(2, 3);
+        var largeGame = registry.createGame(2, 5);
+
+        // when
+        var found = registry.findLobbyGame(4);
+
+        // then
+        assertThat(found).containsSame(largeGame);
+        assertThat(registry.findLobbyGame(3)).containsSame(smallGame);
+        assertThat(registry.findLobbyGame(6)).isEmpty();
+    }
+
+    @Test
+    void whenGameIsFull_thenRemoveFromLobbyIndex() throws Exception {
+        // setup
+        var game = registry.createGame(2, 2);
+
+        // when
+        game.registerPlayer("joe", VOID_LISTENER);
+        game.registerPlayer("juan", VOID_LISTENER);
+
+        // then
+        assertThat(registry.findLobbyGame(1)).isEmpty();
+        assertThat(registry.getGame(game.getUuid())).containsSame(game);
+    }
+
+    @Test
+    void whenGameStartsAndFinishes_thenDeregister() throws Exception {
+        // setup
+        var game = registry.createGame(2, 3);
+        var joe = game.registerPlayer("joe", VOID_LISTENER);
+        game.registerPlayer("juan", VOID_LISTENER);
+
+        // when
+        game.start();
+
+        // then
+        assertThat(registry.findLobbyGame(1)).isEmpty();
+        assertThat(registry.size()).isOne();
+
+        // when
+        game.removePlayer(joe.getPlayerId());
+
+        // then
+        assertThat(game.getStage()).isEqualTo(Stage.FINISH);
+        assertThat(registry.getGame(game.getUuid())).isEmpty();
+        assertThat(registry.size()).isZero();
+    }
+
+    @Test
+    void whenAbandonedGameIsRemoved_thenDeregisterAndDiscardItsMetrics() throws Exception {
+        // setup
+        var metrics = new EngineMetrics();
+        registry = new GameRegistry(new GameFactory(new Random(7), GameOptions.defaults().withMetrics(metrics)));
+        var abandoned = registry.createGame(2, 3);
+        abandoned.registerPlayer("joe", VOID_LISTENER);
+        var waiting = registry.createGame(2, 3);
+
+        // when
+        var removed = registry.removeGame(abandoned.getUuid());
+
+        // then
+        assertThat(removed).isTrue();
+        assertThat(registry.removeGame(abandoned.getUuid())).isFalse();
+        assertThat(registry.getGame(abandoned.getUuid())).isEmpty();
+        assertThat(registry.findLobbyGame(1)).containsSame(waiting);
+        assertThat(registry.lobbySize()).isOne();
+        assertThat(metrics.games(Stage.LOBBY)).isOne();
+        assertThat(metrics.connectedPlayers()).isZero();
+
+        // when
+        registry.removeGame(waiting.getUuid());
+
+        // then
+        assertThat(metrics.games(Stage.LOBBY)).isZero();
+        assertThat(metrics.largestLobbyWait()).isZero();
+    }
+
+    @Test
+    void whenGameFinishes_thenItIsNoLongerCounted() throws Exception {
+        // setup
+        var metrics = new EngineMetrics();
+        registry = new GameRegistry(new GameFactory(new Random(7), GameOptions.defaults().withMetrics(metrics)));
+        var game = registry.createGame(2, 2);
+        var joe = game.registerPlayer("joe", VOID_LISTENER);
+        game.registerPlayer("juan", VOID_LISTENER);
+        game.start();
+
+        // when
+        game.removePlayer(joe.getPlayerId());
+
+        // then
+        assertThat(game.getStage()).isEqualTo(Stage.FINISH);
+        assertThat(metrics.games(Stage.RUNNING)).isZero();
+        assertThat(metrics.games(Stage.FINISH)).isZero();
+        assertThat(metrics.connectedPlayers()).isZero();
+    }
+}
@@ -0,0 +1,84 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.bot.GreedyStrategy;
+import dev.cerios.maugame.mauengine.bot.Move;
+import dev.cerios.maugame.mauengine.bot.RandomStrategy;
+import dev.cerios.maugame.mauengine.bot.Strategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameSimulatorTest {
+
+    @Test
+    void shouldPlayAllGamesToTheEnd() {
+        // setup
+        var simulator = new GameSimulator();
+
+        // when
+        var result = simulator.run(List.of(new RandomStrategy(), new GreedyStrategy(), new RandomStrategy()), 1000, 1);
+
+        // then
+        assertThat(result.games()).isEqualTo(1000);
+        assertThat(result.finished() + result.stalled()).isEqualTo(1000);
+        assertThat(result.failed()).isZero();
+        assertThat(result.finished()).isGreaterThan(900);
+        assertThat(result.seats()).hasSize(3);
+        assertThat(result.seats().stream().mapToLong(SimulationResult.Seat::wins).sum()).isEqualTo(result.finished());
+        assertThat(result.seats().stream().mapToLong(SimulationResult.Seat::losses).sum()).isEqualTo(result.finished());
+        assertThat(result.seats().stream().mapToDouble(SimulationResult.Seat::averagePlace).sum())
+                .isCloseTo(6.0, offset(1e-9));
+        assertThat(result.averageTurns()).isPositive();
+        assertThat(result.gamesPerSecond()).isPositive();
+    }
+
+    @Test
+    void shouldNotDependOnPoolSize() {
+        // setup
+        List<Strategy> strategies = List.of(new RandomStrategy(), new GreedyStrategy());
+
+        // when
+        var single = new GameSimulator(new ForkJoinPool(1), 10_000).run(strategies, 2000, 42);
+        var parallel = new GameSimulator(new ForkJoinPool(4), 10_000).run(strategies, 2000, 42);
+
+        // then
+        assertThat(parallel.turns()).isEqualTo(single.turns());
+        assertThat(parallel.finished()).isEqualTo(single.finished());
+        assertThat(parallel.seats()).isEqualTo(single.seats());
+    }
+
+    @Test
+    void whenStrategyPlaysIllegalMove_thenCountFailedGame() {
+        // setup
+        Strategy alwaysPass = (informationSet, random) -> Move.PASS;
+
+        // when
+        var result = new GameSimulator().run(List.of(alwaysPass, alwaysPass), 10, 3);
+
+        // then
+        assertThat(result.failed()).isEqualTo(10);
+        assertThat(result.finished()).isZero();
+    }
+
+    @Test
+    void whenTurnLimitReached_thenCountStalledGame() {
+        // when
+        var result = new GameSimulator(ForkJoinPool.commonPool(), 1)
+                .run(List.of(new RandomStrategy(), new RandomStrategy()), 10, 3);
+
+        // then
+        assertThat(result.stalled()).isEqualTo(10);
+        assertThat(result.turns()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldRejectSingleSeat() {
+        assertThatThrownBy(() -> new GameSimulator().run(List.of(new RandomStrategy()), 1, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,983 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.TestUtils;
+import dev.cerios.maugame.mauengine.bot.GreedyStrategy;
+import dev.cerios.maugame.mauengine.bot.Strategy;
+import dev.cerios.maugame.mauengine.card.CardType;
+import dev.cerios.maugame.mauengine.card.Color;
+import dev.cerios.maugame.mauengine.codec.ActionCodec;
+import dev.cerios.maugame.mauengine.exception.GameException;
+import dev.cerios.maugame.mauengine.exception.PlayerMoveException;
+import dev.cerios.maugame.mauengine.metrics.Command;
+import dev.cerios.maugame.mauengine.metrics.EngineMetrics;
+import dev.cerios.maugame.mauengine.metrics.MetricsSink;
+import dev.cerios.maugame.mauengine.metrics.Phase;
+import dev.cerios.maugame.mauengine.game.action.*;
+import dev.cerios.maugame.mauengine.journal.GameJournal;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static dev.cerios.maugame.mauengine.TestUtils.VOID_LISTENER;
+import static dev.cerios.maugame.mauengine.TestUtils.getField;
+import static dev.cerios.maugame.mauengine.game.GameStateDelta.Field.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class GameTest {
+
+    private Game game;
+    private final Map<String, List<List<Action>>> batches = new HashMap<>();
+    private final GameEventBatchListener batchListener = (p, actions) ->
+            batches.computeIfAbsent(p.getUsername(), k -> new ArrayList<>()).add(actions);
+
+    @BeforeEach
+    void setUp() {
+        game = new GameFactory(new Random(12)).createGame(2, 3);
+    }
+
+    @Test
+    void whenGameStarts_thenEveryPlayerReceivesSingleBatch() throws Exception {
+        // setup
+        game.registerBatchPlayer("jose", batchListener);
+        game.registerBatchPlayer("juan", batchListener);
+        batches.clear();
+
+        // when
+        game.start();
+
+        // then
+        assertThat(batches.get("jose")).hasSize(1);
+        assertThat(batches.get("juan")).hasSize(1);
+        assertThat(batches.get("jose").getFirst())
+                .extracting(Action::getType)
+                .containsExactly(
+                        Action.ActionType.START_GAME,
+                        Action.ActionType.START_PILE,
+                        Action.ActionType.PLAYER_SHIFT,
+                        Action.ActionType.DRAW,
+                        Action.ActionType.HIDDEN_DRAW
+                );
+    }
+
+    @Test
+    void whenPlayerDraws_thenEveryPlayerReceivesSingleBatch() throws Exception {
+        // setup
+        var jose = game.registerBatchPlayer("jose", batchListener);
+        var juan = game.registerBatchPlayer("juan", batchListener);
+        game.start();
+        var onTurn = game.getGameState().currentPlayer().equals("jose") ? jose : juan;
+        var other = onTurn == jose ? juan : jose;
+        batches.clear();
+
+        // when
+        game.playDrawMove(onTurn.getPlayerId());
+
+        // then
+        assertThat(batches.get(onTurn.getUsername())).singleElement().satisfies(batch ->
+                assertThat(batch).extracting(Action::getType)
+                        .containsExactly(Action.ActionType.DRAW, Action.ActionType.PLAYER_SHIFT)
+        );
+        assertThat(batches.get(other.getUsername())).singleElement().satisfies(batch ->
+                assertThat(batch).extracting(Action::getType)
+                        .containsExactly(Action.ActionType.HIDDEN_DRAW, Action.ActionType.PLAYER_SHIFT)
+        );
+    }
+
+    @Test
+    void batchAndPlainListenersCanBeMixed() throws Exception {
+        // setup
+        List<Action> plainActions = new ArrayList<>();
+        game.registerBatchPlayer("jose", batchListener);
+        game.registerPlayer("juan", (p, a) -> plainActions.add(a));
+        plainActions.clear();
+        batches.clear();
+
+        // when
+        game.start();
+
+        // then
+        assertThat(batches.get("jose")).hasSize(1);
+        assertThat(plainActions).hasSize(5);
+    }
+
+    @Test
+    void broadcastActionShouldBeEncodedOnceForAllWirePlayers() throws Exception {
+        // setup
+        Map<String, List<ByteBuffer>> received = new HashMap<>();
+        GameEventWireListener wireListener = (p, bytes) ->
+                received.computeIfAbsent(p.getUsername(), k -> new ArrayList<>()).add(bytes);
+        var jose = game.registerWirePlayer("jose", wireListener);
+        var juan = game.registerWirePlayer("juan", wireListener);
+        var encodedBefore = game.getPlayerManager().getEncodedActionCount();
+        received.clear();
+
+        // when
+        game.start();
+
+        // then
+        // start, pile and shift are shared, draw and hidden draw are specific to each player
+        assertThat(game.getPlayerManager().getEncodedActionCount() - encodedBefore).isEqualTo(7);
+        var joseBytes = received.get("jose");
+        var juanBytes = received.get("juan");
+        assertThat(joseBytes).hasSize(5);
+        assertThat(joseBytes.getFirst()).isEqualTo(juanBytes.getFirst());
+        assertThat(joseBytes.getFirst().isReadOnly()).isTrue();
+        var bySlot = Map.of(jose.getSlot(), jose, juan.getSlot(), juan);
+        assertThat(joseBytes)
+                .extracting(bytes -> ActionCodec.decode(bytes, bySlot::get).getType())
+                .containsExactly(
+                        Action.ActionType.START_GAME,
+                        Action.ActionType.START_PILE,
+                        Action.ActionType.PLAYER_SHIFT,
+                        Action.ActionType.DRAW,
+                        Action.ActionType.HIDDEN_DRAW
+                );
+    }
+
+    @Test
+    void stateSinceZeroShouldContainWholeState() throws Exception {
+        // setup
+        game.registerPlayer("jose", VOID_LISTENER);
+        game.registerPlayer("juan", VOID_LISTENER);
+        game.start();
+
+        // when
+        var delta = game.getGameStateSince(0);
+
+        // then
+        var state = game.getGameState();
+        assertThat(delta.version()).isEqualTo(state.version());
+        assertThat(delta.changes()).containsExactlyInAnyOrder(
+                HANDS, PLAYER_RANK, TOP_PILE, DECK_SIZE, STAGE, CURRENT_PLAYER, GAME_EFFECT
+        );
+        assertThat(delta.changedHands()).isEqualTo(state.playerHands());
+        assertThat(delta.topPile()).isEqualTo(state.topPile());
+        assertThat(delta.deckSize()).isEqualTo(state.deckSize());
+        assertThat(delta.currentPlayer()).isEqualTo(state.currentPlayer());
+        assertThat(delta.playerRank()).isEmpty();
+    }
+
+    @Test
+    void stateSinceShouldContainOnlyChangesOfTheMove() throws Exception {
+        // setup
+        var jose = game.registerPlayer("jose", VOID_LISTENER);
+        var juan = game.registerPlayer("juan", VOID_LISTENER);
+        game.start();
+        var onTurn = game.getGameState().currentPlayer().equals("jose") ? jose : juan;
+        var before = game.getGameState().version();
+
+        // when
+        game.playDrawMove(onTurn.getPlayerId());
+        var delta = game.getGameStateSince(before);
+
+        // then
+        assertThat(delta.version()).isEqualTo(before + 1);
+        assertThat(delta.changes()).containsExactlyInAnyOrder(HANDS, DECK_SIZE, CURRENT_PLAYER);
+        assertThat(delta.changedHands()).containsOnlyKeys(onTurn.getUsername());
+        assertThat(delta.topPile()).isNull();
+        assertThat(delta.stage()).isNull();
+    }
+
+    @Test
+    void rejectedCommandShouldNotChangeVersion() throws Exception {
+        // setup
+        var jose = game.registerPlayer("jose", VOID_LISTENER);
+        var juan = game.registerPlayer("juan", VOID_LISTENER);
+        game.start();
+        var notOnTurn = game.getGameState().currentPlayer().equals("jose") ? juan : jose;
+        var before = game.getGameState().version();
+
+        // when
+        assertThatThrownBy(() -> game.playDrawMove(notOnTurn.getPlayerId()));
+        var delta = game.getGameStateSince(before);
+
+        // then
+        assertThat(delta.isEmpty()).isTrue();
+        assertThat(delta.version()).isEqualTo(before);
+        assertThatThrownBy(() -> game.getGameStateSince(before + 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void removedPlayerShouldBeReportedInDelta() throws Exception {
+        // setup
+        game.registerPlayer("jose", VOID_LISTENER);
+        var juan = game.registerPlayer("juan", VOID_LISTENER);
+        var before = game.getGameStateSince(0).version();
+
+        // when
+        game.removePlayer(juan.getPlayerId());
+        var delta = game.getGameStateSince(before);
+
+        // then
+        assertThat(delta.changes()).containsExactly(REMOVED_PLAYERS);
+        assertThat(delta.removedPlayers()).containsExactly("juan");
+    }
+
+    @Test
+    void whenRemovalsOfDeltaWereTrimmed_thenReturnFullState() throws Exception {
+        // setup
+        game.registerPlayer("jose", VOID_LISTENER);
+        var before = game.getGameStateSince(0).version();
+        for (int i = 0; i <= StateVersions.MAX_REMOVED; i++) {
+            var player = game.registerPlayer("juan" + i, VOID_LISTENER);
+            game.removePlayer(player.getPlayerId());
+        }
+
+        // when
+        var delta = game.getGameStateSince(before);
+
+        // then
+        assertThat(delta.sinceVersion()).isZero();
+        assertThat(delta.removedPlayers()).isEmpty();
+        assertThat(delta.changedHands()).containsOnlyKeys("jose");
+        assertThat(game.getGameStateSince(before + 2).removedPlayers()).hasSize(StateVersions.MAX_REMOVED);
+    }
+
+    @Test
+    void readsShouldNotWaitForRunningCommand() throws Exception {
+        // setup
+        game.registerPlayer("jose", VOID_LISTENER);
+        game.registerPlayer("juan", VOID_LISTENER);
+        game.start();
+        var writeLock = ((ReadWriteLock) getField(game, "lock")).writeLock();
+        writeLock.lock();
+
+        try {
+            // when
+            var state = CompletableFuture.supplyAsync(() -> game.getGameState())
+                    .get(1, TimeUnit.SECONDS);
+            var stage = CompletableFuture.supplyAsync(() -> game.getStage())
+                    .get(1, TimeUnit.SECONDS);
+
+            // then
+            assertThat(state.playerHands()).containsOnlyKeys("jose", "juan");
+            assertThat(stage).isEqualTo(Stage.RUNNING);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Test
+    void currentStateShouldNotInterleaveWithRunningCommand() throws Exception {
+        // setup
+        List<Action> received = Collections.synchronizedList(new ArrayList<>());
+        var jose = game.registerPlayer("jose", (p, a) -> received.add(a));
+        game.registerPlayer("juan", VOID_LISTENER);
+        game.start();
+        received.clear();
+        var writeLock = ((ReadWriteLock) getField(game, "lock")).writeLock();
+        writeLock.lock();
+
+        // when
+        CompletableFuture<Void> resend;
+        try {
+            resend = CompletableFuture.runAsync(() -> {
+                try {
+                    game.sendCurrentStateTo(jose.getPlayerId(), p -> true);
+                } catch (GameException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(100);
+
+            // then
+            assertThat(resend).isNotDone();
+        } finally {
+            writeLock.unlock();
+        }
+        resend.get(1, TimeUnit.SECONDS);
+        assertThat(received.getFirst()).isInstanceOf(StartAction.class);
+    }
+
+    @Test
+    void whenLobbyStateIsSent_thenOnlyPlayersAreSent() throws Exception {
+        // setup
+        List<ByteBuffer> encoded = new ArrayList<>();
+        List<Action> received = new ArrayList<>();
+        var jose = game.registerWirePlayer("jose", (p, bytes) -> encoded.add(bytes));
+        var juan = game.registerPlayer("juan", (p, a) -> received.add(a));
+        encoded.clear();
+        received.clear();
+
+        // when
+        game.sendCurrentStateTo(jose.getPlayerId(), p -> true);
+        game.sendCurrentStateTo(juan.getPlayerId(), p -> true);
+
+        // then
+        assertThat(encoded).hasSize(1);
+        assertThat(received).containsExactly(new PlayersAction(List.of(jose, juan)));
+    }
+
+    @Test
+    void whenLobbyPlayerIsResynced_thenOnlyPlayersAreSent() throws Exception {
+        // setup
+        List<ByteBuffer> encoded = new ArrayList<>();
+        var jose = game.registerWirePlayer("jose", (p, bytes) -> encoded.add(bytes));
+        encoded.clear();
+        var captured = new AtomicBoolean();
+
+        // when
+        game.resync(jose, () -> captured.set(true));
+
+        // then
+        assertThat(captured).isTrue();
+        assertThat(encoded).hasSize(1);
+    }
+
+    @Test
+    void publishedSnapshotShouldFollowCommands() throws Exception {
+        // setup
+        var jose = game.registerPlayer("jose", VOID_LISTENER);
+        var players = game.getAllPlayers();
+
+        // when
+        game.registerPlayer("juan", VOID_LISTENER);
+
+        // then
+        assertThat(players).containsExactly(jose);
+        assertThat(game.getAllPlayers()).extracting(Player::getUsername).containsExactly("jose", "juan");
+        assertThat(game.getFreeCapacity()).isOne();
+        assertThat(game.hasEnoughPlayers()).isTrue();
+        assertThat(game.getPlayer(jose.getPlayerId())).isSameAs(jose);
+        assertThatThrownBy(() -> game.getGameState()).hasMessageContaining("not been initialized");
+    }
+
+    @Test
+    void journaledGameShouldBeRestoredByReplay(@TempDir Path dir) throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(7));
+        var file = dir.resolve("game.journal");
+        var original = factory.createJournaledGame(file, 2, 3);
+        var jose = original.registerPlayer("jose", VOID_LISTENER);
+        var juan = original.registerPlayer("juan", VOID_LISTENER);
+        original.start();
+        for (int i = 0; i < 12 && original.getStage() == Stage.RUNNING; i++)
+            playAnyMove(original);
+        var expected = original.getGameState();
+        original.syncJournal().join();
+        List<Action> restoredActions = new ArrayList<>();
+
+        // when
+        var restored = factory.restore(file, username -> (p, a) -> restoredActions.add(a));
+
+        // then
+        var state = restored.getGameState();
+        assertThat(restored.getUuid()).isEqualTo(original.getUuid());
+        assertThat(restored.getAllPlayers()).extracting(Player::getPlayerId)
+                .containsExactly(jose.getPlayerId(), juan.getPlayerId());
+        assertThat(state.playerHands()).isEqualTo(expected.playerHands());
+        assertThat(state.topPile()).isEqualTo(expected.topPile());
+        assertThat(state.deckSize()).isEqualTo(expected.deckSize());
+        assertThat(state.currentPlayer()).isEqualTo(expected.currentPlayer());
+        assertThat(state.gameEffect()).isEqualTo(expected.gameEffect());
+        assertThat(state.playerRank()).isEqualTo(expected.playerRank());
+        assertThat(restoredActions).isEmpty();
+    }
+
+    @Test
+    void restoredPlayersShouldKeepListenerKindAndMissReplayInAsyncMode(@TempDir Path dir) throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(7), GameOptions.defaults().withDispatchMode(DispatchMode.ASYNC));
+        var file = dir.resolve("game.journal");
+        var original = factory.createJournaledGame(file, 2, 3);
+        var jose = original.registerPlayer("jose", VOID_LISTENER);
+        var juan = original.registerBatchPlayer("juan", (p, batch) -> {});
+        original.start();
+        for (int i = 0; i < 6 && original.getStage() == Stage.RUNNING; i++)
+            playAnyMove(original);
+        original.syncJournal().join();
+        var actions = new CompletableFuture<Action>();
+        var batches = new CompletableFuture<List<Action>>();
+
+        // when
+        var restored = factory.restore(file, new RestoredListeners() {
+            @Override
+            public GameEventListener listener(String username) {
+                return (p, a) -> actions.complete(a);
+            }
+
+            @Override
+            public GameEventBatchListener batchListener(String username) {
+                return (p, batch) -> batches.complete(batch);
+            }
+        });
+        restored.sendCurrentStateTo(jose.getPlayerId(), p -> true);
+        restored.sendCurrentStateTo(juan.getPlayerId(), p -> true);
+
+        // then
+        assertThat(actions.get(1, TimeUnit.SECONDS)).isInstanceOf(StartAction.class);
+        assertThat(batches.get(1, TimeUnit.SECONDS).getFirst()).isInstanceOf(StartAction.class);
+    }
+
+    @Test
+    void whenJournalFailsAfterPlayerMove_thenGameStops(@TempDir Path dir) throws Exception {
+        // setup
+        var journaledGame = new GameFactory(new Random(7)).createJournaledGame(dir.resolve("game.journal"), 2, 3);
+        journaledGame.registerPlayer("jose", VOID_LISTENER);
+        journaledGame.registerPlayer("juan", VOID_LISTENER);
+        journaledGame.start();
+        var before = journaledGame.getGameState().currentPlayer();
+        ((GameJournal) getField(journaledGame, "journal")).close();
+
+        // when
+        assertThatThrownBy(() -> playAnyMove(journaledGame))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("the game stopped");
+
+        // then
+        assertThat(journaledGame.getGameState().currentPlayer()).isNotEqualTo(before);
+        assertThatThrownBy(() -> playAnyMove(journaledGame))
+                .isInstanceOf(GameException.class)
+                .hasMessageContaining("journal failed");
+        assertThat(journaledGame.syncJournal()).isCompletedExceptionally();
+    }
+
+    @Test
+    void whenUsernameCannotBeJournaled_thenRejectBeforeRegistering(@TempDir Path dir) throws Exception {
+        // setup
+        var journaledGame = new GameFactory(new Random(7)).createJournaledGame(dir.resolve("game.journal"), 2, 3);
+
+        // when, then
+        assertThatThrownBy(() -> journaledGame.registerPlayer("x".repeat(0x10000), VOID_LISTENER))
+                .isInstanceOf(GameException.class);
+        assertThat(journaledGame.getAllPlayers()).isEmpty();
+        journaledGame.registerPlayer("jose", VOID_LISTENER);
+        assertThat(journaledGame.getAllPlayers()).hasSize(1);
+    }
+
+    @Test
+    void checkpointShouldNotBreakJournalReplay(@TempDir Path dir) throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(7));
+        var file = dir.resolve("game.journal");
+        var original = factory.createJournaledGame(file, 2, 3);
+        original.registerPlayer("jose", VOID_LISTENER);
+        original.registerPlayer("juan", VOID_LISTENER);
+        original.checkpoint();
+        original.start();
+        playAnyMove(original);
+        var expected = original.getGameState();
+        original.syncJournal().join();
+
+        // when
+        var restored = factory.restore(file, username -> VOID_LISTENER);
+
+        // then
+        var state = restored.getGameState();
+        assertThat(state.playerHands()).isEqualTo(expected.playerHands());
+        assertThat(state.currentPlayer()).isEqualTo(expected.currentPlayer());
+    }
+
+    @Test
+    void checkpointShouldRestoreWholeGame() throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(3));
+        var original = factory.createGame(2, 3);
+        var jose = original.registerPlayer("jose", VOID_LISTENER);
+        original.registerPlayer("juan", VOID_LISTENER);
+        original.start();
+        for (int i = 0; i < 5 && original.getStage() == Stage.RUNNING; i++)
+            playAnyMove(original);
+
+        // when
+        var checkpoint = original.checkpoint();
+        var restored = factory.restoreCheckpoint(checkpoint, username -> VOID_LISTENER);
+
+        // then
+        assertThat(restored.getUuid()).isEqualTo(original.getUuid());
+        assertSameState(restored, original);
+        var current = original.getGameState().currentPlayer();
+        var currentId = original.getAllPlayers().stream()
+                .filter(p -> p.getUsername().equals(current)).findFirst().orElseThrow().getPlayerId();
+        assertThat(restored.getPlayerManager().getLastExpire(currentId))
+                .isEqualTo(original.getPlayerManager().getLastExpire(currentId));
+        assertThat(restored.getPlayer(jose.getPlayerId()).getSlot()).isEqualTo(jose.getSlot());
+        for (int i = 0; i < 10 && original.getStage() == Stage.RUNNING; i++) {
+            playAnyMove(original);
+            playAnyMove(restored);
+            assertSameState(restored, original);
+        }
+    }
+
+    @Test
+    void checkpointShouldKeepSeatsTakenOverByBot() throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(3), GameOptions.defaults().withTakeoverStrategy(new GreedyStrategy()));
+        var original = factory.createGame(2, 2);
+        var jose = original.registerPlayer("jose", VOID_LISTENER);
+        var juan = original.registerPlayer("juan", VOID_LISTENER);
+        original.start();
+        var human = original.getGameState().currentPlayer().equals("jose") ? jose : juan;
+        var bot = human == jose ? juan : jose;
+        original.disconnectPlayer(bot.getPlayerId());
+
+        // when
+        var restored = factory.restoreCheckpoint(original.checkpoint(), username -> VOID_LISTENER);
+        playAnyMove(restored);
+
+        // then
+        assertThat(restored.getPlayer(bot.getPlayerId()).isBotControlled()).isTrue();
+        assertThat(restored.getPlayer(human.getPlayerId()).isBotControlled()).isFalse();
+        if (restored.getStage() == Stage.RUNNING)
+            assertThat(restored.getGameState().currentPlayer()).isEqualTo(human.getUsername());
+    }
+
+    @Test
+    void checkpointShouldKeepListenerKinds() throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(3));
+        var original = factory.createGame(2, 3);
+        var jose = original.registerPlayer("jose", VOID_LISTENER);
+        var juan = original.registerBatchPlayer("juan", (p, batch) -> {});
+        var pedro = original.registerWirePlayer("pedro", (p, bytes) -> {});
+        original.start();
+        List<Action> actions = new ArrayList<>();
+        List<List<Action>> batches = new ArrayList<>();
+        List<ByteBuffer> encoded = new ArrayList<>();
+
+        // when
+        var restored = factory.restoreCheckpoint(original.checkpoint(), new RestoredListeners() {
+            @Override
+            public GameEventListener listener(String username) {
+                return (p, a) -> actions.add(a);
+            }
+
+            @Override
+            public GameEventBatchListener batchListener(String username) {
+                return (p, batch) -> batches.add(batch);
+            }
+
+            @Override
+            public GameEventWireListener wireListener(String username) {
+                return (p, bytes) -> encoded.add(bytes);
+            }
+        });
+        restored.sendCurrentStateTo(jose.getPlayerId(), p -> true);
+        restored.sendCurrentStateTo(juan.getPlayerId(), p -> true);
+        restored.sendCurrentStateTo(pedro.getPlayerId(), p -> true);
+
+        // then
+        assertThat(actions.getFirst()).isInstanceOf(StartAction.class);
+        assertThat(batches).hasSize(1);
+        assertThat(batches.getFirst().getFirst()).isInstanceOf(StartAction.class);
+        assertThat(encoded).hasSize(actions.size());
+    }
+
+    @Test
+    void lobbyCheckpointShouldStartLikeOriginal() throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(5));
+        var original = factory.createGame(2, 4);
+        original.registerPlayer("jose", VOID_LISTENER);
+        original.registerPlayer("juan", VOID_LISTENER);
+        original.registerPlayer("pedro", VOID_LISTENER);
+        var restored = factory.restoreCheckpoint(original.checkpoint(), username -> VOID_LISTENER);
+
+        // when
+        original.start();
+        restored.start();
+
+        // then
+        assertSameState(restored, original);
+    }
+
+    @Test
+    void malformedCheckpointShouldBeRejected() {
+        // setup
+        var factory = new GameFactory(new Random(3));
+
+        // when, then
+        assertThatThrownBy(() -> factory.restoreCheckpoint(new byte[]{1, 2, 3, 4, 5}, username -> VOID_LISTENER))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void catchUpShouldSendOnlyMissedActions() throws Exception {
+        // setup
+        List<Long> sequences = new ArrayList<>();
+        List<Action> actions = new ArrayList<>();
+        GameEventListener listener = new GameEventListener() {
+            @Override
+            public void accept(Player player, Action action) {
+            }
+
+            @Override
+            public void accept(Player player, Action action, long sequence) {
+                sequences.add(sequence);
+                actions.add(action);
+            }
+        };
+        var jose = game.registerPlayer("jose", listener);
+        game.registerPlayer("juan", VOID_LISTENER);
+        var lastSeen = sequences.getLast();
+        game.start();
+        var expected = actions.subList(actions.size() - 5, actions.size()).stream().toList();
+        var expectedSequences = sequences.subList(sequences.size() - 5, sequences.size()).stream().toList();
+        actions.clear();
+        sequences.clear();
+
+        // when
+        var caughtUp = game.catchUp(jose.getPlayerId(), lastSeen, p -> true);
+
+        // then
+        assertThat(caughtUp).isTrue();
+        assertThat(actions).containsExactlyElementsOf(expected);
+        assertThat(sequences).containsExactlyElementsOf(expectedSequences);
+        assertThat(sequences).allMatch(sequence -> sequence > lastSeen);
+    }
+
+    @Test
+    void wireAndBatchListenersShouldReceiveSequences() throws Exception {
+        // setup
+        List<Long> wireSequences = new ArrayList<>();
+        List<SequencedAction> batchActions = new ArrayList<>();
+        var jose = game.registerWirePlayer("jose", new GameEventWireListener() {
+            @Override
+            public void accept(Player player, ByteBuffer action) {
+            }
+
+            @Override
+            public void accept(Player player, ByteBuffer action, long sequence) {
+                wireSequences.add(sequence);
+            }
+        });
+        var juan = game.registerBatchPlayer("juan", new GameEventBatchListener() {
+            @Override
+            public void accept(Player player, List<Action> actions) {
+            }
+
+            @Override
+            public void acceptSequenced(Player player, List<SequencedAction> actions) {
+                batchActions.addAll(actions);
+            }
+        });
+        long lastSeen = Math.max(wireSequences.getLast(), batchActions.getLast().sequence());
+        wireSequences.clear();
+        batchActions.clear();
+
+        // when
+        game.start();
+
+        // then
+        assertThat(wireSequences).hasSize(5).allMatch(sequence -> sequence > lastSeen).isSorted();
+        assertThat(batchActions).hasSize(5).allMatch(a -> a.sequence() > lastSeen);
+        assertThat(batchActions).extracting(SequencedAction::sequence).isSorted().doesNotHaveDuplicates();
+        assertThat(game.catchUp(jose.getPlayerId(), wireSequences.get(2), p -> true)).isTrue();
+        assertThat(wireSequences).hasSize(7).endsWith(wireSequences.get(3), wireSequences.get(4));
+        batchActions.clear();
+        assertThat(game.catchUp(juan.getPlayerId(), lastSeen, p -> true)).isTrue();
+        assertThat(batchActions).hasSize(5);
+    }
+
+    @Test
+    void catchUpShouldFallBackToFullStateWhenActionsWereEvicted() throws Exception {
+        // setup
+        var smallLog = new GameFactory(new Random(12), GameOptions.defaults().withActionLogCapacity(4))
+                .createGame(2, 3);
+        List<Action> actions = new ArrayList<>();
+        var jose = smallLog.registerPlayer("jose", (p, a) -> actions.add(a));
+        smallLog.registerPlayer("juan", VOID_LISTENER);
+        smallLog.start();
+        actions.clear();
+
+        // when
+        var caughtUp = smallLog.catchUp(jose.getPlayerId(), 1, p -> true);
+
+        // then
+        assertThat(caughtUp).isFalse();
+        assertThat(actions).extracting(Action::getType).containsExactly(
+                Action.ActionType.START_GAME,
+                Action.ActionType.START_PILE,
+                Action.ActionType.DRAW,
+                Action.ActionType.HIDDEN_DRAW,
+                Action.ActionType.PLAYER_SHIFT,
+                Action.ActionType.PLAYER_RANK
+        );
+    }
+
+    @Test
+    void disconnectedPlayerShouldBePlayedByBot() throws Exception {
+        // setup
+        var takeoverGame = new GameFactory(new Random(3), GameOptions.defaults()
+                .withTakeoverStrategy(new GreedyStrategy())).createGame(2, 2);
+        var collector = TestUtils.createCollector();
+        var jose = takeoverGame.registerPlayer("jose", collector.getListener());
+        var juan = takeoverGame.registerPlayer("juan", collector.getListener());
+        takeoverGame.start();
+        var human = takeoverGame.getGameState().currentPlayer().equals("jose") ? juan : jose;
+        var bot = human == jose ? juan : jose;
+        collector.clear();
+
+        // when
+        takeoverGame.disconnectPlayer(bot.getPlayerId());
+
+        // then
+        assertThat(bot.isBotControlled()).isTrue();
+        assertThat(collector.getActions(human).getFirst()).isEqualTo(new DeactivateAction(bot));
+        assertThat(collector.getActions(human)).extracting(Action::getType).contains(Action.ActionType.PLAYER_SHIFT);
+        assertThat(takeoverGame.getGameState().currentPlayer()).isEqualTo(human.getUsername());
+    }
+
+    @Test
+    void whenJournalFailsAfterBotMove_thenGameStops(@TempDir Path dir) throws Exception {
+        // setup
+        var greedy = new GreedyStrategy();
+        var games = new ArrayList<Game>();
+        Strategy closingJournal = (informationSet, random) -> {
+            try {
+                ((GameJournal) getField(games.getFirst(), "journal")).close();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+            return greedy.chooseMove(informationSet, random);
+        };
+        var factory = new GameFactory(new Random(3), GameOptions.defaults().withTakeoverStrategy(closingJournal));
+        var takeoverGame = factory.createJournaledGame(dir.resolve("game.journal"), 2, 2);
+        games.add(takeoverGame);
+        takeoverGame.registerPlayer("jose", VOID_LISTENER);
+        takeoverGame.registerPlayer("juan", VOID_LISTENER);
+        takeoverGame.start();
+        var bot = takeoverGame.getPlayer(takeoverGame.getPlayerManager().currentPlayer().getPlayerId());
+
+        // when
+        takeoverGame.disconnectPlayer(bot.getPlayerId());
+
+        // then
+        assertThat(takeoverGame.getAllPlayers()).contains(bot);
+        assertThat(bot.isBotControlled()).isTrue();
+        assertThat(takeoverGame.getGameState().currentPlayer()).isNotEqualTo(bot.getUsername());
+        assertThat(takeoverGame.syncJournal()).isCompletedExceptionally();
+        assertThatThrownBy(() -> playAnyMove(takeoverGame))
+                .isInstanceOf(GameException.class)
+                .hasMessageContaining("journal failed");
+    }
+
+    @Test
+    void botTurnsShouldBeMeteredAfterTheTriggeringCommand() throws Exception {
+        // setup
+        List<String> recorded = Collections.synchronizedList(new ArrayList<>());
+        MetricsSink sink = new MetricsSink() {
+            @Override
+            public void recordCommand(Command command, long lockWaitNanos, long coreNanos, long dispatchNanos) {
+                recorded.add(command.name());
+            }
+
+            @Override
+            public void recordMove() {
+                recorded.add("move");
+            }
+        };
+        var takeoverGame = new GameFactory(new Random(3), GameOptions.defaults()
+                .withTakeoverStrategy(new GreedyStrategy())
+                .withMetrics(sink)).createGame(2, 2);
+        var jose = takeoverGame.registerPlayer("jose", VOID_LISTENER);
+        var juan = takeoverGame.registerPlayer("juan", VOID_LISTENER);
+        takeoverGame.start();
+        var bot = takeoverGame.getGameState().currentPlayer().equals("jose") ? juan : jose;
+        takeoverGame.disconnectPlayer(bot.getPlayerId());
+        recorded.clear();
+
+        // when
+        playAnyMove(takeoverGame);
+
+        // then
+        assertThat(recorded).hasSizeGreaterThanOrEqualTo(3);
+        assertThat(recorded.getFirst()).isNotEqualTo("move");
+        assertThat(recorded.subList(1, recorded.size())).containsOnly("move");
+    }
+
+    @Test
+    void timedOutPlayerShouldBePlayedByBotUntilReconnect() throws Exception {
+        // setup
+        var takeoverGame = new GameFactory(new Random(3), GameOptions.defaults()
+                .withTakeoverStrategy(new GreedyStrategy())).createGame(2, 3);
+        var jose = takeoverGame.registerPlayer("jose", VOID_LISTENER);
+        var juan = takeoverGame.registerPlayer("juan", VOID_LISTENER);
+        var john = takeoverGame.registerPlayer("john", VOID_LISTENER);
+        takeoverGame.start();
+        var onTurn = takeoverGame.getPlayer(takeoverGame.getAllPlayers().stream()
+                .filter(p -> p.getUsername().equals(takeoverGame.getGameState().currentPlayer()))
+                .findFirst().orElseThrow().getPlayerId());
+
+        // when
+        takeoverGame.onTurnTimeout(onTurn.getPlayerId(), takeoverGame.getPlayerManager().getTurn());
+
+        // then
+        assertThat(takeoverGame.getAllPlayers()).containsExactly(jose, juan, john);
+        assertThat(onTurn.isBotControlled()).isTrue();
+        assertThat(takeoverGame.getGameState().currentPlayer()).isNotEqualTo(onTurn.getUsername());
+
+        // when
+        takeoverGame.reconnectPlayer(onTurn.getPlayerId());
+        while (!takeoverGame.getGameState().currentPlayer().equals(onTurn.getUsername()))
+            playAnyMove(takeoverGame);
+
+        // then
+        assertThat(onTurn.isBotControlled()).isFalse();
+        assertThat(takeoverGame.getStage()).isEqualTo(Stage.RUNNING);
+    }
+
+    @Test
+    void gameOfBotsShouldFinishWithoutHumans() throws Exception {
+        // setup
+        var takeoverGame = new GameFactory(new Random(5), GameOptions.defaults()
+                .withTakeoverStrategy(new GreedyStrategy())).createGame(2, 2);
+        var jose = takeoverGame.registerPlayer("jose", VOID_LISTENER);
+        var juan = takeoverGame.registerPlayer("juan", VOID_LISTENER);
+        takeoverGame.disconnectPlayer(jose.getPlayerId());
+        takeoverGame.disconnectPlayer(juan.getPlayerId());
+
+        // when
+        takeoverGame.start();
+
+        // then
+        assertThat(takeoverGame.getStage()).isEqualTo(Stage.FINISH);
+        assertThat(takeoverGame.getGameState().playerRank()).containsExactlyInAnyOrder("jose", "juan");
+    }
+
+    @Test
+    void withoutTakeoverStrategyDisconnectShouldBeRejected() throws Exception {
+        // setup
+        var jose = game.registerPlayer("jose", VOID_LISTENER);
+
+        // when, then
+        assertThatThrownBy(() -> game.disconnectPlayer(jose.getPlayerId()))
+                .isInstanceOf(GameException.class);
+    }
+
+    @Test
+    void whenChangeListenerFails_thenLockIsReleased() throws Exception {
+        // setup
+        game.setChangeListener((g, stage, freeCapacity) -> {
+            throw new IllegalStateException("listener failure");
+        });
+
+        // when
+        var jose = game.registerPlayer("jose", VOID_LISTENER);
+        game.registerPlayer("juan", VOID_LISTENER);
+
+        // then
+        var lock = (ReentrantReadWriteLock) getField(game, "lock");
+        assertThat(lock.isWriteLocked()).isFalse();
+        var delta = CompletableFuture.supplyAsync(() -> game.getGameStateSince(0)).get(1, TimeUnit.SECONDS);
+        assertThat(delta.changedHands()).containsOnlyKeys(jose.getUsername(), "juan");
+    }
+
+    @Test
+    void commandsShouldBeMeasured() throws Exception {
+        // setup
+        var metrics = new EngineMetrics();
+        var meteredGame = new GameFactory(new Random(12), GameOptions.defaults().withMetrics(metrics)).createGame(2, 2);
+        var jose = meteredGame.registerPlayer("jose", VOID_LISTENER);
+        var juan = meteredGame.registerPlayer("juan", VOID_LISTENER);
+
+        // then
+        assertThat(metrics.games(Stage.LOBBY)).isOne();
+
+        // when
+        meteredGame.start();
+        var onTurn = meteredGame.getGameState().currentPlayer().equals("jose") ? jose : juan;
+        var other = onTurn == jose ? juan : jose;
+        assertThatThrownBy(() -> meteredGame.playDrawMove(other.getPlayerId()));
+        meteredGame.playDrawMove(onTurn.getPlayerId());
+        meteredGame.onTurnTimeout(other.getPlayerId(), meteredGame.getPlayerManager().getTurn());
+
+        // then
+        assertThat(metrics.latency(Command.REGISTER, Phase.CORE).count()).isEqualTo(2);
+        assertThat(metrics.latency(Command.DRAW, Phase.LOCK_WAIT).count()).isEqualTo(2);
+        assertThat(metrics.latency(Command.DRAW, Phase.DISPATCH).maxNanos()).isPositive();
+        assertThat(metrics.rejected(Command.DRAW)).isOne();
+        assertThat(metrics.illegalMoves(PlayerMoveException.Reason.NOT_ON_TURN)).isOne();
+        assertThat(metrics.dispatched(Action.ActionType.DRAW)).isEqualTo(3);
+        assertThat(metrics.timeouts()).isOne();
+        assertThat(metrics.games(Stage.LOBBY)).isZero();
+        assertThat(metrics.games(Stage.FINISH)).isOne();
+    }
+
+    @Test
+    void commandsShouldEmitFlightRecorderEvents(@TempDir Path dir) throws Exception {
+        // setup
+        var recordedGame = new GameFactory(new Random(12)).createGame(2, 2);
+        var jose = recordedGame.registerPlayer("jose", VOID_LISTENER);
+        var juan = recordedGame.registerPlayer("juan", VOID_LISTENER);
+        recordedGame.start();
+        var onTurn = recordedGame.getGameState().currentPlayer().equals("jose") ? jose : juan;
+        var other = onTurn == jose ? juan : jose;
+        var file = dir.resolve("game.jfr");
+
+        // when
+        try (var recording = new Recording()) {
+            recording.enable(GameCommandEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(ActionDispatchEvent.class).withThreshold(Duration.ZERO);
+            recording.enable(TurnTimeoutEvent.class);
+            recording.start();
+            assertThatThrownBy(() -> recordedGame.playDrawMove(other.getPlayerId()));
+            recordedGame.playDrawMove(onTurn.getPlayerId());
+            recordedGame.onTurnTimeout(other.getPlayerId(), recordedGame.getPlayerManager().getTurn());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        // then
+        var events = RecordingFile.readAllEvents(file);
+        var commands = events.stream().filter(e -> e.getEventType().getName().equals("dev.cerios.maugame.GameCommand")).toList();
+        assertThat(commands).extracting(e -> e.getString("outcome")).containsExactly("NOT_ON_TURN", "ACCEPTED");
+        assertThat(commands).extracting(e -> e.getInt("playerSlot")).containsExactly(other.getSlot(), onTurn.getSlot());
+        assertThat(commands).allSatisfy(e -> {
+            assertThat(e.getString("gameId")).isEqualTo(recordedGame.getUuid().toString());
+            assertThat(e.getString("command")).isEqualTo("DRAW");
+        });
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("dev.cerios.maugame.ActionDispatch"))
+                .extracting(e -> e.getString("actionType"), e -> e.getInt("recipients"))
+                .contains(tuple("HIDDEN_DRAW", 1), tuple("PLAYER_SHIFT", 2));
+        assertThat(events)
+                .filteredOn(e -> e.getEventType().getName().equals("dev.cerios.maugame.TurnTimeout"))
+                .singleElement()
+                .satisfies(e -> {
+                    assertThat(e.getInt("playerSlot")).isEqualTo(other.getSlot());
+                    assertThat(e.getBoolean("takenOverByBot")).isFalse();
+                });
+    }
+
+    private static void assertSameState(Game actual, Game expected) {
+        var state = actual.getGameState();
+        var expectedState = expected.getGameState();
+        assertThat(state.playerHands()).isEqualTo(expectedState.playerHands());
+        assertThat(state.topPile()).isEqualTo(expectedState.topPile());
+        assertThat(state.deckSize()).isEqualTo(expectedState.deckSize());
+        assertThat(state.stage()).isEqualTo(expectedState.stage());
+        assertThat(state.currentPlayer()).isEqualTo(expectedState.currentPlayer());
+        assertThat(state.gameEffect()).isEqualTo(expectedState.gameEffect());
+        assertThat(state.playerRank()).isEqualTo(expectedState.playerRank());
+    }
+
+    private static void playAnyMove(Game game) throws Exception {
+        var playerId = game.getAllPlayers().stream()
+                .filter(p -> p.getUsername().equals(game.getGameState().currentPlayer()))
+                .findFirst().orElseThrow().getPlayerId();
+        var moves = game.legalMoves(playerId);
+        if (!moves.playableCards().isEmpty()) {
+            var card = moves.playableCards().getFirst();
+            game.playCardMove(playerId, card, card.type() == CardType.QUEEN ? Color.HEARTS : null);
+        } else if (moves.canPass()) {
+            game.playPassMove(playerId);
+        } else {
+            game.playDrawMove(playerId);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package dev.cerios.maugame.mauengine.game;
+
+import dev.cerios.maugame.mauengine.exception.GameException;
+import dev.cerios.maugame.mauengine.exception.PlayerMoveException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static dev.cerios.maugame.mauengine.TestUtils.VOID_LISTENER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailboxGameTest {
+
+    @Test
+    void shouldProcessCommandsInSubmissionOrder() throws Exception {
+        // setup
+        var game = new GameFactory(new Random(42)).createMailboxGame(2, 2);
+
+        // when
+        var joe = game.registerPlayer("joe", VOID_LISTENER);
+        var juan = game.registerPlayer("juan", VOID_LISTENER);
+        var started = game.start();
+
+        // then
+        started.get(5, TimeUnit.SECONDS);
+        assertThat(joe.get().getUsername()).isEqualTo("joe");
+        assertThat(juan.get().getUsername()).isEqualTo("juan");
+        assertThat(game.getGame().getStage()).isEqualTo(Stage.RUNNING);
+        assertThat(game.pendingCommands()).isZero();
+    }
+
+    @Test
+    void whenCommandFails_thenFutureCompletesExceptionally() throws Exception {
+        // setup
+        var game = new GameFactory(new Random(42)).createMailboxGame(2, 2);
+        var joe = game.registerPlayer("joe", VOID_LISTENER).get(5, TimeUnit.SECONDS);
+
+        // when
+        var duplicate = game.registerPlayer("joe", VOID_LISTENER);
+        var notRunning = game.playDrawMove(joe.getPlayerId());
+
+        // then
+        assertThatThrownBy(() -> duplicate.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(GameException.class);
+        assertThatThrownBy(() -> notRunning.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .cause()
+                .isInstanceOf(GameException.class)
+                .isNotInstanceOf(PlayerMoveException.class);
+    }
+
+    @Test
+    void whenMailboxIsFull_thenFutureCompletesExceptionally() throws Exception {
+        // setup
+        var mailbox = new Mailbox("full-test", 1);
+        var game = new MailboxGame(new GameFactory(new Random(42)).createGame(2, 2), mailbox);
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        mailbox.submit(() -> {
+            running.countDown();
+            awaitQuietly(release);
+        });
+        running.await(5, TimeUnit.SECONDS);
+        var queued = game.registerPlayer("joe", VOID_LISTENER);
+
+        // when
+        var rejected = game.registerPlayer("juan", VOID_LISTENER);
+        game.onTurnTimeout("joe", 0);
+
+        // then
+        assertThatThrownBy(() -> rejected.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(game.pendingCommands()).isEqualTo(2);
+        release.countDown();
+        assertThat(queued.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("joe");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package dev.cerios.maugame.mauengine.game;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MailboxTest {
+
+    @Test
+    void whenTaskThrowsError_thenFollowingTasksStillRun() throws Exception {
+        // setup
+        var mailbox = new Mailbox("mailbox-test");
+        var first = new CompletableFuture<Void>();
+        var second = new CompletableFuture<Void>();
+
+        // when
+        mailbox.submit(() -> {
+            throw new StackOverflowError();
+        });
+        mailbox.submit(() -> first.complete(null));
+        first.get(5, TimeUnit.SECONDS);
+        mailbox.submit(() -> second.complete(null));
+
+        // then
+        second.get(5, TimeUnit.SECONDS);
+        assertThat(mailbox.pending()).isZero();
+    }
+}
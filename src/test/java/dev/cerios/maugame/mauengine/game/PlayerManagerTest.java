@@ -6,6 +6,8 @@ import dev.cerios.maugame.mauengine.card.CardType;
 import dev.cerios.maugame.mauengine.card.Color;
 import dev.cerios.maugame.mauengine.exception.GameException;
 import dev.cerios.maugame.mauengine.game.action.*;
+import dev.cerios.maugame.mauengine.timer.Timeout;
+import dev.cerios.maugame.mauengine.timer.TurnTimer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,6 +16,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static dev.cerios.maugame.mauengine.TestUtils.*;
@@ -23,6 +26,7 @@ import static java.util.List.of;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -268,6 +272,36 @@ class PlayerManagerTest {
         assertThatThrownBy(() -> pm.shiftPlayer()).isInstanceOf(RuntimeException.class);
     }
 
+    @Test
+    void whenTurnTimesOutWithoutHandler_thenPlayerIsKept() throws Exception {
+        // setup
+        List<Runnable> expired = new ArrayList<>();
+        TurnTimer timer = new TurnTimer() {
+            @Override
+            public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+                expired.add(task);
+                return mock(Timeout.class);
+            }
+
+            @Override
+            public long pendingTimeouts() {
+                return 0;
+            }
+        };
+        pm = new PlayerManager(gameId, random, 2, 2, stage, cardManager, timer);
+        var joe = pm.registerPlayer("joe", VOID_LISTENER);
+        var juan = pm.registerPlayer("juan", VOID_LISTENER);
+        when(random.nextInt(any(int.class))).thenReturn(0);
+        pm.initializePlayer();
+
+        // when
+        expired.forEach(Runnable::run);
+
+        // then
+        assertThat(expired).isNotEmpty();
+        assertThat(pm.getPlayers()).containsExactly(joe, juan);
+    }
+
     @Test
     void whenMiddlePlayerFinished_thenSkipHimWhenShifting() throws Exception {
         // setup
@@ -470,4 +504,22 @@ class PlayerManagerTest {
         assertThat(actionCollector.getActions(juan)).containsExactly(new RemovePlayerAction(jose));
         assertThat(actionCollector.getActions(jose)).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldAssignUniqueSlots_andReleaseUsernameOnRemoval() throws GameException {
+        // setup
+        var jose = pm.registerPlayer("jose", VOID_LISTENER);
+        var juan = pm.registerPlayer("juan", VOID_LISTENER);
+
+        // when
+        pm.removePlayer(jose.getPlayerId());
+        var newJose = pm.registerPlayer("jose", VOID_LISTENER);
+
+        // then
+        assertThat(jose.getSlot()).isZero();
+        assertThat(juan.getSlot()).isOne();
+        assertThat(newJose.getSlot()).isEqualTo(2);
+        assertThat(pm.getPlayer(newJose.getPlayerId())).isSameAs(newJose);
+        assertThatThrownBy(() -> pm.getPlayer(jose.getPlayerId())).isInstanceOf(GameException.class);
+    }
+}
@@ -0,0 +1,137 @@
+package dev.cerios.maugame.mauengine.journal;
+
+import dev.cerios.maugame.mauengine.card.Card;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static dev.cerios.maugame.mauengine.card.CardType.*;
+import static dev.cerios.maugame.mauengine.card.Color.*;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GameJournalTest {
+
+    @TempDir
+    private Path dir;
+
+    private final JournalEntry.Header header = new JournalEntry.Header(UUID.randomUUID(), 42L, 2, 4);
+
+    @Test
+    void appendedEntriesShouldBeReadBack() throws Exception {
+        // setup
+        var file = dir.resolve("game.journal");
+        List<JournalEntry> entries = List.of(
+                header,
+                new JournalEntry.Register("01ID", "jose ♥"),
+                new JournalEntry.Register("02ID", "juan", JournalEntry.Register.ListenerType.BATCH),
+                new JournalEntry.Register("03ID", "pepe", JournalEntry.Register.ListenerType.WIRE),
+                new JournalEntry.Start(),
+                new JournalEntry.PlayCard("01ID", new Card(QUEEN, HEARTS), SPADES),
+                new JournalEntry.PlayCard("02ID", new Card(SEVEN, SPADES), null),
+                new JournalEntry.Pass("01ID"),
+                new JournalEntry.Draw("02ID"),
+                new JournalEntry.Remove("01ID")
+        );
+
+        // when
+        try (var journal = GameJournal.create(file, header)) {
+            entries.subList(1, entries.size()).forEach(journal::append);
+        }
+
+        // then
+        assertThat(GameJournal.read(file)).containsExactlyElementsOf(entries);
+    }
+
+    @Test
+    void concurrentAppendsShouldShareFsyncs() throws Exception {
+        // setup
+        var file = dir.resolve("game.journal");
+        int appends = 2_000;
+        List<CompletableFuture<Void>> syncs = new ArrayList<>();
+
+        // when
+        try (var journal = GameJournal.create(file, header)) {
+            var baseline = journal.syncCount();
+            for (int i = 0; i < appends; i++) {
+                journal.append(new JournalEntry.Draw("player-" + i));
+                syncs.add(journal.sync());
+            }
+            CompletableFuture.allOf(syncs.toArray(CompletableFuture[]::new)).join();
+
+            // then
+            assertThat(journal.syncCount() - baseline).isBetween(1L, (long) appends - 1);
+        }
+        assertThat(GameJournal.read(file)).hasSize(appends + 1);
+    }
+
+    @Test
+    void tornRecordShouldBeDiscardedOnRecovery() throws Exception {
+        // setup
+        var file = dir.resolve("game.journal");
+        try (var journal = GameJournal.create(file, header)) {
+            journal.append(new JournalEntry.Register("01ID", "jose"));
+        }
+        long validLength = Files.size(file);
+        try (var channel = FileChannel.open(file, WRITE)) {
+            channel.truncate(validLength - 1);
+        }
+
+        // when
+        var recovered = GameJournal.recover(file);
+        recovered.journal().append(new JournalEntry.Register("02ID", "juan"));
+        recovered.journal().close();
+
+        // then
+        assertThat(recovered.entries()).containsExactly(header);
+        assertThat(GameJournal.read(file)).containsExactly(header, new JournalEntry.Register("02ID", "juan"));
+    }
+
+    @Test
+    void whenStringExceedsLimit_thenRejectEntryAndKeepJournalUsable() throws Exception {
+        // setup
+        var file = dir.resolve("game.journal");
+        var register = new JournalEntry.Register("02ID", "juan");
+
+        // when
+        try (var journal = GameJournal.create(file, header)) {
+            assertThatThrownBy(() -> journal.append(new JournalEntry.Register("01ID", "j".repeat(70_000))))
+                    .isInstanceOf(IllegalArgumentException.class);
+            journal.append(register);
+        }
+
+        // then
+        assertThat(GameJournal.read(file)).containsExactly(header, register);
+    }
+
+    @Test
+    void closedJournalShouldRejectAppends() throws Exception {
+        // setup
+        var journal = GameJournal.create(dir.resolve("game.journal"), header);
+
+        // when
+        journal.close();
+
+        // then
+        assertThatThrownBy(() -> journal.append(new JournalEntry.Start()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void fileWithoutHeaderShouldNotBeRead() throws IOException {
+        // setup
+        var file = Files.write(dir.resolve("empty.journal"), new byte[0]);
+
+        // when, then
+        assertThatThrownBy(() -> GameJournal.read(file)).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import dev.cerios.maugame.mauengine.game.GameFactory;
+import dev.cerios.maugame.mauengine.game.GameOptions;
+import dev.cerios.maugame.mauengine.timer.HashedWheelTurnTimer;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static dev.cerios.maugame.mauengine.TestUtils.VOID_LISTENER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EngineMonitorTest {
+
+    @Test
+    void registeredMBeanShouldExposeEngineState() throws Exception {
+        // setup
+        var factory = new GameFactory(new Random(12), GameOptions.defaults().withMetrics(new EngineMetrics()));
+        var server = ManagementFactory.getPlatformMBeanServer();
+        var name = factory.registerMBean("monitor-test");
+        try {
+            var running = factory.createGame(2, 2);
+            var jose = running.registerPlayer("jose", VOID_LISTENER);
+            var juan = running.registerPlayer("juan", VOID_LISTENER);
+            factory.createGame(2, 2).registerPlayer("pedro", VOID_LISTENER);
+
+            // when
+            running.start();
+            var onTurn = running.getGameState().currentPlayer().equals("jose") ? jose : juan;
+            running.playDrawMove(onTurn.getPlayerId());
+
+            // then
+            assertThat(server.getAttribute(name, "LobbyGames")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "RunningGames")).isEqualTo(1L);
+            assertThat(server.getAttribute(name, "ConnectedPlayers")).isEqualTo(3L);
+            assertThat((long) server.getAttribute(name, "PendingTurnTimers")).isPositive();
+            assertThat((double) server.getAttribute(name, "MaxDispatchMicros"))
+                    .isGreaterThanOrEqualTo((double) server.getAttribute(name, "AverageDispatchMicros"))
+                    .isPositive();
+            assertThat((long) server.getAttribute(name, "LargestLobbyWaitMillis")).isNotNegative();
+            assertThat(server.getAttribute(name, "MovesPerSecond")).isInstanceOf(Double.class);
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    void mBeanShouldRequireEngineMetrics() {
+        // setup
+        var factory = new GameFactory(new Random(12), GameOptions.defaults(), HashedWheelTurnTimer.getDefault());
+
+        // when, then
+        assertThatThrownBy(() -> factory.registerMBean("without-metrics"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void largestLobbyWaitShouldFollowTheOldestLobbyGame() throws Exception {
+        // setup
+        var metrics = new EngineMetrics();
+        var factory = new GameFactory(new Random(12), GameOptions.defaults().withMetrics(metrics));
+        var oldest = factory.createGame(2, 2);
+        Thread.sleep(20);
+        factory.createGame(2, 2);
+
+        // when
+        oldest.registerPlayer("jose", VOID_LISTENER);
+        oldest.registerPlayer("juan", VOID_LISTENER);
+        var waitBefore = metrics.largestLobbyWait();
+        oldest.start();
+
+        // then
+        assertThat(waitBefore.toMillis()).isGreaterThanOrEqualTo(20);
+        assertThat(metrics.largestLobbyWait()).isLessThan(waitBefore);
+        assertThat(metrics.connectedPlayers()).isEqualTo(2);
+    }
+}
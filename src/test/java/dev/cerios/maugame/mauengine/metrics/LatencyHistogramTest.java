@@ -0,0 +1,45 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    @Test
+    void valuesShouldFallIntoPowerOfTwoBuckets() {
+        // setup
+        var histogram = new LatencyHistogram();
+
+        // when
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(1000);
+        histogram.record(1023);
+        histogram.record(1024);
+
+        // then
+        assertThat(histogram.count()).isEqualTo(5);
+        assertThat(histogram.bucketCount(0)).isOne();
+        assertThat(histogram.bucketCount(1)).isOne();
+        assertThat(histogram.bucketCount(10)).isEqualTo(2);
+        assertThat(histogram.bucketCount(11)).isOne();
+        assertThat(histogram.maxNanos()).isEqualTo(1024);
+        assertThat(histogram.sumNanos()).isEqualTo(3048);
+    }
+
+    @Test
+    void quantileShouldBeBoundedByBucketAndMax() {
+        // setup
+        var histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++)
+            histogram.record(100);
+        histogram.record(5_000);
+
+        // when, then
+        assertThat(histogram.quantileUpperBound(0.5)).isEqualTo(128);
+        assertThat(histogram.quantileUpperBound(0.99)).isEqualTo(128);
+        assertThat(histogram.quantileUpperBound(1)).isEqualTo(5_000);
+        assertThat(new LatencyHistogram().quantileUpperBound(0.5)).isZero();
+    }
+}
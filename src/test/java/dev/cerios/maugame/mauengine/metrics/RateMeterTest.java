@@ -0,0 +1,42 @@
+package dev.cerios.maugame.mauengine.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateMeterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void rateShouldCoverOnlyWholeSecondsOfTheWindow() {
+        // setup
+        var meter = new RateMeter();
+        long start = 100 * SECOND;
+
+        // when
+        for (int i = 0; i < 30; i++)
+            meter.record(start + i * SECOND / 10);
+        meter.record(start + 5 * SECOND);
+
+        // then
+        assertThat(meter.perSecond(start)).isZero();
+        assertThat(meter.perSecond(start + SECOND)).isEqualTo(1.0);
+        assertThat(meter.perSecond(start + 6 * SECOND)).isEqualTo(3.1);
+        assertThat(meter.perSecond(start + 11 * SECOND)).isEqualTo(2.1);
+    }
+
+    @Test
+    void reusedSlotShouldDropOldCounts() {
+        // setup
+        var meter = new RateMeter();
+        meter.record(3 * SECOND);
+
+        // when
+        meter.record(19 * SECOND);
+
+        // then
+        assertThat(meter.perSecond(20 * SECOND)).isEqualTo(0.1);
+    }
+}
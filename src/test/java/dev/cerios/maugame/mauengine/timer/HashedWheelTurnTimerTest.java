@@ -0,0 +1,76 @@
+package dev.cerios.maugame.mauengine.timer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedWheelTurnTimerTest {
+
+    private HashedWheelTurnTimer timer;
+
+    @BeforeEach
+    void setUp() {
+        timer = new HashedWheelTurnTimer(5, TimeUnit.MILLISECONDS, 8, Runnable::run);
+    }
+
+    @AfterEach
+    void tearDown() {
+        timer.close();
+    }
+
+    @Test
+    void shouldRunTaskAfterDelay() throws Exception {
+        // setup
+        var latch = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        // when
+        var timeout = timer.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(30));
+        assertThat(timeout.isExpired()).isTrue();
+        assertThat(timer.pendingTimeouts()).isZero();
+        assertThat(timer.expiredTimeouts()).isOne();
+    }
+
+    @Test
+    void shouldRunTaskSpanningMoreWheelRounds() throws Exception {
+        // setup
+        var latch = new CountDownLatch(1);
+
+        // when, 8 slots of 5 ms make one round of 40 ms
+        timer.schedule(latch::countDown, 130, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(latch.await(50, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(latch.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void whenCancelled_thenTaskDoesNotRun() throws Exception {
+        // setup
+        var ran = new AtomicBoolean(false);
+        var timeout = timer.schedule(() -> ran.set(true), 20, TimeUnit.MILLISECONDS);
+        assertThat(timer.pendingTimeouts()).isOne();
+
+        // when
+        var cancelled = timeout.cancel();
+
+        // then
+        Thread.sleep(100);
+        assertThat(cancelled).isTrue();
+        assertThat(timeout.cancel()).isFalse();
+        assertThat(ran).isFalse();
+        assertThat(timeout.isCancelled()).isTrue();
+        assertThat(timer.pendingTimeouts()).isZero();
+        assertThat(timer.cancelledTimeouts()).isOne();
+    }
+}